@@ -1,14 +1,35 @@
 package com.beastlymc.data.arrays;
 
+import com.beastlymc.data.common.Footprint;
 import com.beastlymc.data.common.Insertable;
+import com.beastlymc.data.common.Map;
+import com.beastlymc.data.hash.HashMap;
 
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * The AbstractArray class is an abstract base class that implements the
  * {@link Insertable} interface. It provides a basic implementation of an array
  * that can be inserted, removed, and queried. The class is parameterized over a
  * type E, which represents the type of elements stored in the array.
+ * <p>
+ * Searching an array takes linear time. Arrays that are searched often can
+ * enable an index with {@link #enableIndex()}, which maps every element to the
+ * positions it is stored at, so {@link #contains(Object)},
+ * {@link #indexOf(Object)} and {@link #remove(Object)} take expected constant
+ * time at the cost of updating the index on every write.
+ * <p>
+ * Inserting into an empty slot, emptying a slot and clearing the array count
+ * as structural modifications. Unless documented otherwise, iterators are
+ * fail-fast: they throw a {@link java.util.ConcurrentModificationException}
+ * if the array is structurally modified after they were created, other than
+ * through the iterator itself. Replacing an element is not a structural
+ * modification.
  *
  * @param <E> the type of elements stored in the Array
  */
@@ -19,6 +40,18 @@ public abstract class AbstractArray<E> implements Insertable<E> {
      */
     protected E[] array;
 
+    /**
+     * The number of times elements have been added to or removed from the
+     * array, which lets iterators detect concurrent modification.
+     */
+    protected int modCount;
+
+    /**
+     * Maps every non-null element to the sorted positions it is stored at, or
+     * null if the array is not indexed.
+     */
+    private Map<E, Positions> index;
+
     /**
      * Constructs a new AbstractArray object with the specified capacity.
      *
@@ -55,11 +88,12 @@ public abstract class AbstractArray<E> implements Insertable<E> {
      */
     @Override
     public Optional<E> remove(final E element) {
-        if (indexOf(element) == -1) {
+        int position = indexOf(element);
+        if (position == -1) {
             return Optional.empty();
         }
 
-        return removeAt(indexOf(element));
+        return removeAt(position);
     }
 
     /**
@@ -84,6 +118,8 @@ public abstract class AbstractArray<E> implements Insertable<E> {
 
         E element = array[index];
         array[index] = null;
+        modCount++;
+        updateIndex(index, element, null);
 
         return Optional.of(element);
     }
@@ -107,15 +143,7 @@ public abstract class AbstractArray<E> implements Insertable<E> {
      */
     @Override
     public boolean contains(final E element) {
-        for (E ele : toArray()) {
-            if (ele == null) {
-                continue;
-            }
-            if (ele.equals(element)) {
-                return true;
-            }
-        }
-        return false;
+        return indexOf(element) != -1;
     }
 
     /**
@@ -128,19 +156,254 @@ public abstract class AbstractArray<E> implements Insertable<E> {
      * array, or -1 if the element was not found
      */
     public int indexOf(final E element) {
-        if (!contains(element)) {
-            return -1;
+        return indexOf(toArray(), element);
+    }
+
+    /**
+     * Enables the index of this array, building it from the current elements.
+     * Does nothing if the array is already indexed.
+     */
+    public void enableIndex() {
+        if (index == null) {
+            buildIndex();
         }
+    }
 
+    /**
+     * Replaces the index with a new one built from the current elements.
+     */
+    private void buildIndex() {
+        index = createIndex();
         for (int i = 0; i < array.length; i++) {
-            if (toArray()[i].equals(element)) {
-                return i;
+            updateIndex(i, null, array[i]);
+        }
+    }
+
+    /**
+     * Disables the index of this array and releases its memory.
+     */
+    public void disableIndex() {
+        index = null;
+    }
+
+    /**
+     * Checks if this array keeps an index of its elements.
+     *
+     * @return true if the array is indexed, false otherwise
+     */
+    public boolean isIndexed() {
+        return index != null;
+    }
+
+    /**
+     * Searches the specified elements for the first occurrence of an element,
+     * using the index if the array is indexed. Empty slots never match.
+     *
+     * @param elements the backing array to search
+     * @param element  the element to search for
+     *
+     * @return the index of the first occurrence of the element, or -1 if the
+     * element was not found
+     */
+    int indexOf(final E[] elements, final E element) {
+        Map<E, Positions> positions = index;
+        if (positions != null) {
+            if (element == null) {
+                return -1;
             }
+            Positions found = positions.get(element);
+            return found == null
+                   ? -1
+                   : found.first();
         }
 
+        for (int i = 0; i < elements.length; i++) {
+            E current = elements[i];
+            if (current != null && current.equals(element)) {
+                return i;
+            }
+        }
         return -1;
     }
 
+    /**
+     * Creates the map backing the index. Arrays that are read concurrently
+     * return a map that supports concurrent lookups.
+     *
+     * @return an empty map for the index
+     */
+    Map<E, Positions> createIndex() {
+        return new HashMap<>();
+    }
+
+    /**
+     * Records in the index that the element at the specified position has
+     * been replaced. Does nothing if the array is not indexed.
+     *
+     * @param position   the position that has been written
+     * @param oldElement the element previously stored at the position, or
+     *                   null
+     * @param newElement the element now stored at the position, or null
+     */
+    protected void updateIndex(final int position, final E oldElement, final E newElement) {
+        Map<E, Positions> positions = index;
+        if (positions == null) {
+            return;
+        }
+
+        if (oldElement != null) {
+            Positions old = positions.get(oldElement);
+            if (old != null && old.remove(position)) {
+                positions.remove(oldElement);
+            }
+        }
+
+        if (newElement != null) {
+            Positions current = positions.get(newElement);
+            if (current == null) {
+                positions.put(newElement, new Positions(position));
+            } else {
+                current.add(position);
+            }
+        }
+    }
+
+    /**
+     * Removes every element from the index, for arrays that are being
+     * cleared. Does nothing if the array is not indexed.
+     */
+    protected void clearIndex() {
+        if (index != null) {
+            index.clear();
+        }
+    }
+
+    /**
+     * Returns a spliterator over the elements in the array, from index 0 up
+     * to its size. It splits the backing array in halves and reports the
+     * exact size of every part, so parallel streams divide the work evenly.
+     * Empty slots are reported as null, as by the iterator.
+     *
+     * @return a spliterator over the elements in the array
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return readBulk(elements -> Spliterators.spliterator(elements, 0, Math.min(size(), elements.length),
+                                                             Spliterator.ORDERED));
+    }
+
+    /**
+     * Returns the amount of leading slots of the backing array that the bulk
+     * operations of {@link ParallelArrays} cover.
+     *
+     * @return the length of the range covered by bulk operations
+     */
+    int bulkLength() {
+        return array.length;
+    }
+
+    /**
+     * Runs a bulk operation that reads the backing array. Arrays that guard
+     * their elements with a lock hold it while the operation runs.
+     *
+     * @param operation the operation, applied to the backing array
+     * @param <R>       the type of the result
+     *
+     * @return the result of the operation
+     */
+    <R> R readBulk(final Function<E[], R> operation) {
+        return operation.apply(array);
+    }
+
+    /**
+     * Runs a bulk operation that rewrites the backing array, then rebuilds
+     * the index and lets the array recompute its size. Arrays that guard
+     * their elements with a lock hold it while the operation runs.
+     *
+     * @param operation the operation, applied to the backing array
+     */
+    void writeBulk(final Consumer<E[]> operation) {
+        operation.accept(array);
+        modCount++;
+        if (index != null) {
+            buildIndex();
+        }
+        bulkWritten();
+    }
+
+    /**
+     * Called after a bulk operation has rewritten the backing array, so that
+     * arrays can recompute their size.
+     */
+    void bulkWritten() {
+    }
+
+    /**
+     * Returns the position after the last non-null element of the specified
+     * elements.
+     *
+     * @param elements the elements to search
+     *
+     * @return the index of the last non-null element plus one, or 0 if all
+     * elements are null
+     */
+    static int occupiedLength(final Object[] elements) {
+        int length = elements.length;
+        while (length > 0 && elements[length - 1] == null) {
+            length--;
+        }
+        return length;
+    }
+
+    /**
+     * Estimates the memory used by the array, including an enabled index.
+     * Every slot of the backing array that holds null counts as empty.
+     *
+     * @return the memory footprint of the array
+     */
+    @Override
+    public Footprint footprint() {
+        E[] elements = toArray();
+        long emptySlots = 0;
+        for (E element : elements) {
+            if (element == null) {
+                emptySlots++;
+            }
+        }
+
+        long shallow = shallowBytes();
+        long retained = shallow + Footprint.arrayBytes(elements.length, Footprint.REFERENCE_BYTES) + indexBytes();
+        return new Footprint(shallow, retained, elements.length, size(), emptySlots, 0);
+    }
+
+    /**
+     * Estimates the size of the array object itself, which subclasses that
+     * declare further fields must extend.
+     *
+     * @return the shallow size of the array in bytes
+     */
+    long shallowBytes() {
+        return Footprint.objectBytes(2, Integer.BYTES);
+    }
+
+    /**
+     * Estimates the memory used by the index: the map and, for every distinct
+     * element, its {@link Positions} object and their array.
+     *
+     * @return the size of the index in bytes, or 0 if the array is not
+     * indexed
+     */
+    long indexBytes() {
+        Map<E, Positions> positions = index;
+        if (positions == null) {
+            return 0;
+        }
+
+        long[] bytes = {positions.footprint().getRetainedBytes()};
+        positions.forEach((element, found) -> bytes[0] += found.retainedBytes());
+        return bytes[0];
+    }
+
     /**
      * Returns an array containing all the elements in the array
      *
@@ -170,4 +433,62 @@ public abstract class AbstractArray<E> implements Insertable<E> {
         sb.append("]");
         return sb.toString();
     }
+
+    /**
+     * The sorted positions of one element in an indexed array.
+     */
+    static final class Positions {
+        private int[] positions;
+        private int count;
+
+        Positions(final int position) {
+            positions = new int[]{position};
+            count = 1;
+        }
+
+        /**
+         * @return the lowest position of the element
+         */
+        int first() {
+            return positions[0];
+        }
+
+        void add(final int position) {
+            int insertion = Arrays.binarySearch(positions, 0, count, position);
+            if (insertion >= 0) {
+                return;
+            }
+            insertion = -(insertion + 1);
+
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            System.arraycopy(positions, insertion, positions, insertion + 1, count - insertion);
+            positions[insertion] = position;
+            count++;
+        }
+
+        /**
+         * Removes the specified position.
+         *
+         * @param position the position to remove
+         *
+         * @return true if no positions are left, false otherwise
+         */
+        boolean remove(final int position) {
+            int found = Arrays.binarySearch(positions, 0, count, position);
+            if (found >= 0) {
+                System.arraycopy(positions, found + 1, positions, found, count - found - 1);
+                count--;
+            }
+            return count == 0;
+        }
+
+        /**
+         * @return the estimated size of this object and its array in bytes
+         */
+        long retainedBytes() {
+            return Footprint.objectBytes(1, Integer.BYTES) + Footprint.arrayBytes(positions.length, Integer.BYTES);
+        }
+    }
 }
@@ -0,0 +1,586 @@
+package com.beastlymc.data.arrays;
+
+import com.beastlymc.data.common.Footprint;
+import com.beastlymc.data.common.MemoryFootprint;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The AbstractBufferArray class is the base class of the fixed-size arrays of
+ * fixed-size records that are stored in {@link ByteBuffer} chunks outside of
+ * the Java heap, such as {@link OffHeapArray} and {@link MappedArray}.
+ * <p>
+ * A record is a run of {@link #recordSize()} bytes. It can be written and read
+ * as a whole with {@link #insert(long, byte[])} and
+ * {@link #get(long, byte[])}, or field by field with the typed accessors such
+ * as {@link #putLong(long, int, long)}, which take the index of the record and
+ * the byte offset of the field within the record. Writing any field of an
+ * empty slot occupies it; the other fields of the record read as zero. Which
+ * slots hold a record is tracked in a bitmap that is stored in a buffer as
+ * well.
+ * <p>
+ * Subclasses allocate the buffers and hand them over with
+ * {@link #attach(ByteBuffer[], ByteBuffer)}. Every access after
+ * {@link #close()} throws an {@link IllegalStateException}. This class is not
+ * thread-safe.
+ */
+abstract class AbstractBufferArray implements AutoCloseable, MemoryFootprint {
+
+    /**
+     * The estimated heap size of a single buffer object, without the memory
+     * it points to.
+     */
+    protected static final long BUFFER_BYTES = Footprint.objectBytes(4, 5 * Integer.BYTES + 2 * Long.BYTES + 2);
+
+    /**
+     * The capacity of the array in records.
+     */
+    protected final long capacity;
+
+    /**
+     * The size of a record in bytes.
+     */
+    protected final int recordSize;
+
+    /**
+     * The amount of records per chunk is {@code 1 << chunkShift}.
+     */
+    protected final int chunkShift;
+
+    /**
+     * The mask used to turn a record index into an index within its chunk.
+     */
+    private final long chunkMask;
+
+    /**
+     * The chunks holding the records, null once the array is closed.
+     */
+    protected ByteBuffer[] chunks;
+
+    /**
+     * One bit per slot, set if the slot holds a record.
+     */
+    protected ByteBuffer occupied;
+
+    /**
+     * The amount of records in the array.
+     */
+    protected long size;
+
+    /**
+     * Constructs a new AbstractBufferArray that stores at most the specified
+     * amount of bytes per chunk.
+     *
+     * @param capacity   the amount of records the array can hold
+     * @param recordSize the size of a record in bytes
+     * @param chunkBytes the maximum size of a chunk in bytes
+     *
+     * @throws IllegalArgumentException if the capacity is negative, the record
+     *                                  size is not positive or the array would
+     *                                  be too large
+     */
+    protected AbstractBufferArray(final long capacity, final int recordSize, final int chunkBytes) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        if (recordSize <= 0 || recordSize > chunkBytes) {
+            throw new IllegalArgumentException("Illegal record size: " + recordSize);
+        }
+        if (bitmapBytes(capacity) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacity too large: " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.recordSize = recordSize;
+        this.chunkShift = 31 - Integer.numberOfLeadingZeros(chunkBytes / recordSize);
+        this.chunkMask = (1L << chunkShift) - 1;
+    }
+
+    /**
+     * Hands the buffers of the array over to this class.
+     *
+     * @param chunks   the chunks, each holding {@link #recordsInChunk(int)}
+     *                 records
+     * @param occupied the bitmap, {@link #bitmapBytes(long)} bytes long
+     */
+    protected void attach(final ByteBuffer[] chunks, final ByteBuffer occupied) {
+        this.chunks = chunks;
+        this.occupied = occupied;
+    }
+
+    /**
+     * @return the amount of chunks needed for the capacity of the array
+     */
+    protected int chunkCount() {
+        return (int) ((capacity + chunkMask) >>> chunkShift);
+    }
+
+    /**
+     * Returns the amount of records stored in the specified chunk. Only the
+     * last chunk may hold fewer records than the others.
+     *
+     * @param chunk the index of the chunk
+     *
+     * @return the amount of records in the chunk
+     */
+    protected long recordsInChunk(final int chunk) {
+        return Math.min(1L << chunkShift, capacity - ((long) chunk << chunkShift));
+    }
+
+    /**
+     * Returns the size of the bitmap of an array with the specified capacity.
+     *
+     * @param capacity the capacity of the array in records
+     *
+     * @return the size of the bitmap in bytes
+     */
+    protected static long bitmapBytes(final long capacity) {
+        return ((capacity + 63) >>> 6) * Long.BYTES;
+    }
+
+    /**
+     * Copies the specified record into the slot at the specified index,
+     * replacing any record stored there.
+     *
+     * @param index  the index at which to store the record
+     * @param record the bytes of the record
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @throws IllegalArgumentException  if the record is not exactly
+     *                                   {@link #recordSize()} bytes long
+     * @throws IllegalStateException     if the array is closed
+     */
+    public void insert(final long index, final byte[] record) {
+        if (record.length != recordSize) {
+            throw new IllegalArgumentException("Expected a record of " + recordSize + " bytes, got " + record.length);
+        }
+
+        ByteBuffer chunk = chunkOf(index);
+        chunk.put(offsetOf(index), record);
+        occupy(index);
+    }
+
+    /**
+     * Copies the record at the specified index into the specified array.
+     *
+     * @param index       the index of the record
+     * @param destination the array to copy the record into, at least
+     *                    {@link #recordSize()} bytes long
+     *
+     * @return true if the slot holds a record, false if it is empty and the
+     * destination was left untouched
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @throws IllegalStateException     if the array is closed
+     */
+    public boolean get(final long index, final byte[] destination) {
+        ByteBuffer chunk = chunkOf(index);
+        if (!isOccupied(index)) {
+            return false;
+        }
+
+        chunk.get(offsetOf(index), destination, 0, recordSize);
+        return true;
+    }
+
+    /**
+     * Removes the record at the specified index and zeroes its bytes.
+     *
+     * @param index the index of the record to be removed
+     *
+     * @return true if the slot held a record, false if it was already empty
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @throws IllegalStateException     if the array is closed
+     */
+    public boolean removeAt(final long index) {
+        ByteBuffer chunk = chunkOf(index);
+        if (!isOccupied(index)) {
+            return false;
+        }
+
+        int offset = offsetOf(index);
+        int end = offset + recordSize;
+        for (; offset + Long.BYTES <= end; offset += Long.BYTES) {
+            chunk.putLong(offset, 0L);
+        }
+        for (; offset < end; offset++) {
+            chunk.put(offset, (byte) 0);
+        }
+
+        int word = (int) (index >>> 6) * Long.BYTES;
+        occupied.putLong(word, occupied.getLong(word) & ~(1L << index));
+        size--;
+        sizeChanged();
+        return true;
+    }
+
+    /**
+     * Checks if the slot at the specified index holds a record.
+     *
+     * @param index the index of the slot
+     *
+     * @return true if the slot holds a record, false otherwise
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @throws IllegalStateException     if the array is closed
+     */
+    public boolean isOccupied(final long index) {
+        checkIndex(index);
+        return (occupied.getLong((int) (index >>> 6) * Long.BYTES) & (1L << index)) != 0;
+    }
+
+    /**
+     * Reads the {@code byte} field at the specified byte offset of a record.
+     *
+     * @param index  the index of the record
+     * @param offset the offset of the field within the record
+     *
+     * @return the value of the field, or 0 if the slot is empty
+     *
+     * @throws IndexOutOfBoundsException if the index or the field is out of
+     *                                   range
+     * @throws IllegalStateException     if the array is closed
+     */
+    public byte getByte(final long index, final int offset) {
+        return chunkOf(index).get(fieldOffset(index, offset, Byte.BYTES));
+    }
+
+    /**
+     * Writes the {@code byte} field at the specified byte offset of a record,
+     * occupying the slot if it is empty.
+     *
+     * @param index  the index of the record
+     * @param offset the offset of the field within the record
+     * @param value  the value to write
+     *
+     * @throws IndexOutOfBoundsException if the index or the field is out of
+     *                                   range
+     * @throws IllegalStateException     if the array is closed
+     */
+    public void putByte(final long index, final int offset, final byte value) {
+        chunkOf(index).put(fieldOffset(index, offset, Byte.BYTES), value);
+        occupy(index);
+    }
+
+    /**
+     * Reads the {@code int} field at the specified byte offset of a record.
+     *
+     * @param index  the index of the record
+     * @param offset the offset of the field within the record
+     *
+     * @return the value of the field, or 0 if the slot is empty
+     *
+     * @throws IndexOutOfBoundsException if the index or the field is out of
+     *                                   range
+     * @throws IllegalStateException     if the array is closed
+     */
+    public int getInt(final long index, final int offset) {
+        return chunkOf(index).getInt(fieldOffset(index, offset, Integer.BYTES));
+    }
+
+    /**
+     * Writes the {@code int} field at the specified byte offset of a record,
+     * occupying the slot if it is empty.
+     *
+     * @param index  the index of the record
+     * @param offset the offset of the field within the record
+     * @param value  the value to write
+     *
+     * @throws IndexOutOfBoundsException if the index or the field is out of
+     *                                   range
+     * @throws IllegalStateException     if the array is closed
+     */
+    public void putInt(final long index, final int offset, final int value) {
+        chunkOf(index).putInt(fieldOffset(index, offset, Integer.BYTES), value);
+        occupy(index);
+    }
+
+    /**
+     * Reads the {@code long} field at the specified byte offset of a record.
+     *
+     * @param index  the index of the record
+     * @param offset the offset of the field within the record
+     *
+     * @return the value of the field, or 0 if the slot is empty
+     *
+     * @throws IndexOutOfBoundsException if the index or the field is out of
+     *                                   range
+     * @throws IllegalStateException     if the array is closed
+     */
+    public long getLong(final long index, final int offset) {
+        return chunkOf(index).getLong(fieldOffset(index, offset, Long.BYTES));
+    }
+
+    /**
+     * Writes the {@code long} field at the specified byte offset of a record,
+     * occupying the slot if it is empty.
+     *
+     * @param index  the index of the record
+     * @param offset the offset of the field within the record
+     * @param value  the value to write
+     *
+     * @throws IndexOutOfBoundsException if the index or the field is out of
+     *                                   range
+     * @throws IllegalStateException     if the array is closed
+     */
+    public void putLong(final long index, final int offset, final long value) {
+        chunkOf(index).putLong(fieldOffset(index, offset, Long.BYTES), value);
+        occupy(index);
+    }
+
+    /**
+     * Reads the {@code float} field at the specified byte offset of a record.
+     *
+     * @param index  the index of the record
+     * @param offset the offset of the field within the record
+     *
+     * @return the value of the field, or 0 if the slot is empty
+     *
+     * @throws IndexOutOfBoundsException if the index or the field is out of
+     *                                   range
+     * @throws IllegalStateException     if the array is closed
+     */
+    public float getFloat(final long index, final int offset) {
+        return chunkOf(index).getFloat(fieldOffset(index, offset, Float.BYTES));
+    }
+
+    /**
+     * Writes the {@code float} field at the specified byte offset of a record,
+     * occupying the slot if it is empty.
+     *
+     * @param index  the index of the record
+     * @param offset the offset of the field within the record
+     * @param value  the value to write
+     *
+     * @throws IndexOutOfBoundsException if the index or the field is out of
+     *                                   range
+     * @throws IllegalStateException     if the array is closed
+     */
+    public void putFloat(final long index, final int offset, final float value) {
+        chunkOf(index).putFloat(fieldOffset(index, offset, Float.BYTES), value);
+        occupy(index);
+    }
+
+    /**
+     * Reads the {@code double} field at the specified byte offset of a record.
+     *
+     * @param index  the index of the record
+     * @param offset the offset of the field within the record
+     *
+     * @return the value of the field, or 0 if the slot is empty
+     *
+     * @throws IndexOutOfBoundsException if the index or the field is out of
+     *                                   range
+     * @throws IllegalStateException     if the array is closed
+     */
+    public double getDouble(final long index, final int offset) {
+        return chunkOf(index).getDouble(fieldOffset(index, offset, Double.BYTES));
+    }
+
+    /**
+     * Writes the {@code double} field at the specified byte offset of a record,
+     * occupying the slot if it is empty.
+     *
+     * @param index  the index of the record
+     * @param offset the offset of the field within the record
+     * @param value  the value to write
+     *
+     * @throws IndexOutOfBoundsException if the index or the field is out of
+     *                                   range
+     * @throws IllegalStateException     if the array is closed
+     */
+    public void putDouble(final long index, final int offset, final double value) {
+        chunkOf(index).putDouble(fieldOffset(index, offset, Double.BYTES), value);
+        occupy(index);
+    }
+
+    /**
+     * Returns the capacity of the array in records
+     *
+     * @return the capacity of the array in records
+     */
+    public long length() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of records in the array
+     *
+     * @return the number of records in the array
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Checks if the array contains no records
+     *
+     * @return true if the array contains no records, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the size of a record in bytes
+     *
+     * @return the size of a record in bytes
+     */
+    public int recordSize() {
+        return recordSize;
+    }
+
+    /**
+     * Removes all records from the array and zeroes its memory.
+     *
+     * @throws IllegalStateException if the array is closed
+     */
+    public void clear() {
+        checkOpen();
+        for (ByteBuffer chunk : chunks) {
+            zero(chunk);
+        }
+        zero(occupied);
+        size = 0;
+        sizeChanged();
+    }
+
+    /**
+     * Checks if the array has been closed.
+     *
+     * @return true if the array is closed, false otherwise
+     */
+    public boolean isClosed() {
+        return chunks == null;
+    }
+
+    /**
+     * Closes the array. The references to its buffers are dropped so their
+     * memory can be released, and every following access throws an
+     * {@link IllegalStateException}. Closing a closed array does nothing.
+     */
+    @Override
+    public void close() {
+        chunks = null;
+        occupied = null;
+        size = 0;
+    }
+
+    /**
+     * Estimates the heap memory used by the array. The records and the bitmap
+     * live outside of the heap; only the buffer objects that point to them are
+     * counted here.
+     *
+     * @return the memory footprint of the array
+     */
+    @Override
+    public Footprint footprint() {
+        long shallow = Footprint.objectBytes(2, 3 * Long.BYTES + 2 * Integer.BYTES);
+        if (isClosed()) {
+            return new Footprint(shallow, shallow, capacity, 0, capacity, 0);
+        }
+
+        long retained = shallow + Footprint.arrayBytes(chunks.length, Footprint.REFERENCE_BYTES) +
+                        (chunks.length + 1) * BUFFER_BYTES;
+        return new Footprint(shallow, retained, capacity, size, capacity - size, 0);
+    }
+
+    /**
+     * @return a string representation of the array
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + "capacity=" + capacity + ", recordSize=" + recordSize +
+               ", size=" + size + ", closed=" + isClosed() + '}';
+    }
+
+    /**
+     * Returns the chunk that holds the record at the specified index.
+     *
+     * @param index the index of the record
+     *
+     * @return the chunk of the record
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @throws IllegalStateException     if the array is closed
+     */
+    protected ByteBuffer chunkOf(final long index) {
+        checkIndex(index);
+        return chunks[(int) (index >>> chunkShift)];
+    }
+
+    /**
+     * Returns the byte offset of the record at the specified index within its
+     * chunk.
+     *
+     * @param index the index of the record
+     *
+     * @return the offset of the record in its chunk
+     */
+    protected int offsetOf(final long index) {
+        return (int) (index & chunkMask) * recordSize;
+    }
+
+    private int fieldOffset(final long index, final int offset, final int width) {
+        if (offset < 0 || offset > recordSize - width) {
+            throw new IndexOutOfBoundsException("Field at offset " + offset + " with " + width +
+                                                " bytes exceeds record of " + recordSize + " bytes");
+        }
+        return offsetOf(index) + offset;
+    }
+
+    private void occupy(final long index) {
+        int word = (int) (index >>> 6) * Long.BYTES;
+        long bits = occupied.getLong(word);
+        long bit = 1L << index;
+        if ((bits & bit) == 0) {
+            occupied.putLong(word, bits | bit);
+            size++;
+            sizeChanged();
+        }
+    }
+
+    private void checkIndex(final long index) {
+        checkOpen();
+        if (index < 0 || index >= capacity) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+
+    protected void checkOpen() {
+        if (chunks == null) {
+            throw new IllegalStateException(getClass().getSimpleName() + " is closed");
+        }
+    }
+
+    /**
+     * Called after every change of the size, so subclasses can record it.
+     */
+    protected void sizeChanged() {
+    }
+
+    /**
+     * Counts the occupied slots in the bitmap.
+     *
+     * @return the amount of records in the array
+     */
+    protected long countOccupied() {
+        long count = 0;
+        for (int offset = 0; offset < occupied.capacity(); offset += Long.BYTES) {
+            count += Long.bitCount(occupied.getLong(offset));
+        }
+        return count;
+    }
+
+    protected static void zero(final ByteBuffer buffer) {
+        int limit = buffer.capacity();
+        int offset = 0;
+        for (; offset + Long.BYTES <= limit; offset += Long.BYTES) {
+            buffer.putLong(offset, 0L);
+        }
+        for (; offset < limit; offset++) {
+            buffer.put(offset, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.beastlymc.data.arrays;
+
+import com.beastlymc.data.common.Footprint;
+import com.beastlymc.data.common.MemoryFootprint;
+
+/**
+ * The AbstractPrimitiveArray class is the base class of the fixed-size arrays
+ * that store primitive values, such as {@link IntArray}. Because a primitive
+ * slot cannot hold null, every array keeps a bitmap with one bit per slot that
+ * tells whether the slot holds an element. Empty slots always hold zero, so
+ * sums can run over the whole backing array without consulting the bitmap.
+ */
+abstract class AbstractPrimitiveArray implements MemoryFootprint {
+
+    /**
+     * One bit per slot, set if the slot holds an element.
+     */
+    protected long[] occupied;
+
+    /**
+     * The capacity of the array.
+     */
+    protected final int capacity;
+
+    /**
+     * The amount of elements in the array.
+     */
+    protected int size;
+
+    /**
+     * Constructs a new AbstractPrimitiveArray with the specified capacity.
+     *
+     * @param capacity the capacity of the array
+     *
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    protected AbstractPrimitiveArray(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        this.occupied = new long[(capacity + 63) >>> 6];
+    }
+
+    /**
+     * Returns the length of the array
+     *
+     * @return the length of the array
+     */
+    public int length() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of elements in the array
+     *
+     * @return the number of elements in the array
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the array contains no elements
+     *
+     * @return true if the array contains no elements, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks if the slot at the specified index holds an element.
+     *
+     * @param index the index of the slot
+     *
+     * @return true if the slot holds an element, false otherwise
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public boolean isOccupied(final int index) {
+        checkIndex(index);
+        return (occupied[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Removes all elements from the array.
+     */
+    public void clear() {
+        occupied = new long[occupied.length];
+        size = 0;
+        clearValues();
+    }
+
+    /**
+     * Resets every slot of the backing array to zero.
+     */
+    protected abstract void clearValues();
+
+    /**
+     * Returns the index of the first occupied slot at or after the specified
+     * index.
+     *
+     * @param from the index to start searching at
+     *
+     * @return the index of the next occupied slot, or -1 if there is none
+     */
+    protected int nextOccupied(final int from) {
+        return next(from, 0L);
+    }
+
+    /**
+     * Returns the index of the first empty slot at or after the specified
+     * index.
+     *
+     * @param from the index to start searching at
+     *
+     * @return the index of the next empty slot, or -1 if there is none
+     */
+    protected int nextEmpty(final int from) {
+        return next(from, -1L);
+    }
+
+    /**
+     * Returns the index of the first empty slot, which is where
+     * {@code add} stores its value.
+     *
+     * @return the index of the first empty slot
+     *
+     * @throws IllegalStateException if every slot holds an element
+     */
+    protected int firstEmpty() {
+        int index = nextEmpty(0);
+        if (index == -1) {
+            throw new IllegalStateException(getClass().getSimpleName() + " is full");
+        }
+        return index;
+    }
+
+    /**
+     * Returns the first index at or after the specified index whose bit
+     * differs from the specified word pattern.
+     *
+     * @param from  the index to start searching at
+     * @param empty 0 to search for a set bit, -1 to search for a clear bit
+     */
+    private int next(final int from, final long empty) {
+        if (from >= capacity) {
+            return -1;
+        }
+
+        int wordIndex = from >>> 6;
+        long word = (occupied[wordIndex] ^ empty) & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                int index = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                return index < capacity
+                       ? index
+                       : -1;
+            }
+            if (++wordIndex == occupied.length) {
+                return -1;
+            }
+            word = occupied[wordIndex] ^ empty;
+        }
+    }
+
+    /**
+     * Checks if every slot covered by the specified word of the bitmap holds
+     * an element, which lets aggregates skip the bitmap for those slots.
+     *
+     * @param wordIndex the index of the bitmap word
+     *
+     * @return true if all 64 slots of the word are occupied
+     */
+    protected boolean isFull(final int wordIndex) {
+        return occupied[wordIndex] == -1L;
+    }
+
+    /**
+     * Marks the slot at the specified index as occupied.
+     *
+     * @param index the index of the slot
+     */
+    protected void occupy(final int index) {
+        long bit = 1L << index;
+        if ((occupied[index >>> 6] & bit) == 0) {
+            occupied[index >>> 6] |= bit;
+            size++;
+        }
+    }
+
+    /**
+     * Marks the slot at the specified index as empty.
+     *
+     * @param index the index of the slot
+     *
+     * @return true if the slot held an element, false otherwise
+     */
+    protected boolean vacate(final int index) {
+        long bit = 1L << index;
+        if ((occupied[index >>> 6] & bit) == 0) {
+            return false;
+        }
+        occupied[index >>> 6] &= ~bit;
+        size--;
+        return true;
+    }
+
+    protected void checkIndex(final int index) {
+        if (index < 0 || index >= capacity) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+
+    /**
+     * Estimates the memory used by the array, including its bitmap.
+     *
+     * @param elementBytes the size of one element in bytes
+     *
+     * @return the memory footprint of the array
+     */
+    protected Footprint footprint(final int elementBytes) {
+        long shallow = Footprint.objectBytes(2, 2 * Integer.BYTES);
+        long retained = shallow + Footprint.arrayBytes(capacity, elementBytes) +
+                        Footprint.arrayBytes(occupied.length, Long.BYTES);
+        return new Footprint(shallow, retained, capacity, size, capacity - size, 0);
+    }
+}
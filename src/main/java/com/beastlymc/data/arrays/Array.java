@@ -1,5 +1,8 @@
 package com.beastlymc.data.arrays;
 
+import com.beastlymc.data.common.Footprint;
+
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -37,7 +40,12 @@ public class Array<E> extends AbstractArray<E> {
         }
 
         size = Math.max(size, index + 1);
+        E oldElement = array[index];
         array[index] = element;
+        if ((oldElement == null) != (element == null)) {
+            modCount++;
+        }
+        updateIndex(index, oldElement, element);
     }
 
     @Override
@@ -56,6 +64,13 @@ public class Array<E> extends AbstractArray<E> {
         int length = length();
         array = (E[]) new Object[length];
         size = 0;
+        modCount++;
+        clearIndex();
+    }
+
+    @Override
+    void bulkWritten() {
+        size = occupiedLength(array);
     }
 
     @Override
@@ -63,6 +78,11 @@ public class Array<E> extends AbstractArray<E> {
         return array;
     }
 
+    @Override
+    long shallowBytes() {
+        return Footprint.objectBytes(2, 2 * Integer.BYTES);
+    }
+
     @Override
     public Iterator<E> iterator() {
         return new ArrayIterator<>(this);
@@ -70,8 +90,8 @@ public class Array<E> extends AbstractArray<E> {
 
 
     /**
-     * The ArrayIterator class is an iterator over the elements in the Array
-     * class.
+     * The ArrayIterator class is a fail-fast iterator over the elements in the
+     * Array class.
      */
     private static class ArrayIterator<E> implements Iterator<E> {
         /**
@@ -84,6 +104,11 @@ public class Array<E> extends AbstractArray<E> {
          */
         private int index;
 
+        /**
+         * The modification count the Array is expected to have
+         */
+        private final int expectedModCount;
+
         /**
          * Constructs a new ArrayIterator object with the specified capacity.
          *
@@ -92,6 +117,7 @@ public class Array<E> extends AbstractArray<E> {
         public ArrayIterator(Array<E> array) {
             this.array = array;
             index = 0;
+            expectedModCount = array.modCount;
         }
 
         /**
@@ -108,11 +134,16 @@ public class Array<E> extends AbstractArray<E> {
          *
          * @return the next element in the Array
          *
-         * @throws NoSuchElementException if there are no more elements to
-         *                                iterate over
+         * @throws NoSuchElementException          if there are no more
+         *                                         elements to iterate over
+         * @throws ConcurrentModificationException if the Array has been
+         *                                         structurally modified
          */
         @Override
         public E next() {
+            if (array.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
@@ -0,0 +1,341 @@
+package com.beastlymc.data.arrays;
+
+import com.beastlymc.data.common.Footprint;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * The DynamicArray class is a growable array that extends the
+ * {@link AbstractArray} class. Unlike {@link Array} its elements are always
+ * stored contiguously from index 0: inserting an element shifts the following
+ * elements to the right and removing one shifts them to the left. When the
+ * backing array is full it grows by half of its length, so appending an
+ * element with {@link #add(Object)} takes amortized constant time.
+ *
+ * @param <E> the type of elements stored in the DynamicArray
+ */
+public class DynamicArray<E> extends AbstractArray<E> {
+
+    /**
+     * The default initial capacity of the array.
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * The largest capacity the backing array can grow to. Some virtual
+     * machines reserve a few header words in an array.
+     */
+    private static final int MAXIMUM_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * The current size of the array
+     */
+    private int size;
+
+    /**
+     * Constructs a new DynamicArray object with the specified initial
+     * capacity.
+     *
+     * @param initialCapacity the initial capacity of the array
+     *
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    public DynamicArray(final int initialCapacity) {
+        super(checkCapacity(initialCapacity));
+        size = 0;
+    }
+
+    /**
+     * Constructs a new DynamicArray object with the default initial capacity
+     * of 10.
+     */
+    public DynamicArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the element at the specified index in the array.
+     *
+     * @param index the index of the element to return
+     *
+     * @return the element at the specified index
+     *
+     * @throws IndexOutOfBoundsException if the index is not below the size
+     */
+    @Override
+    public E get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        return array[index];
+    }
+
+    /**
+     * Replaces the element at the specified index.
+     *
+     * @param index   the index of the element to replace
+     * @param element the element to store at the index
+     *
+     * @return the element previously stored at the index
+     *
+     * @throws IndexOutOfBoundsException if the index is not below the size
+     */
+    public E set(final int index, final E element) {
+        E oldElement = get(index);
+        array[index] = element;
+        return oldElement;
+    }
+
+    /**
+     * Inserts the specified element at the specified index, shifting the
+     * element at that index and all following elements one position to the
+     * right. The array grows if it is full.
+     *
+     * @param index   the index at which to insert the element, at most the
+     *                size of the array
+     * @param element the element to insert
+     *
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than the size
+     * @throws IllegalStateException     if the array cannot grow any further
+     */
+    @Override
+    public void insert(final int index, final E element) throws IndexOutOfBoundsException {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        if (size == array.length) {
+            grow(size + 1);
+        }
+
+        if (index < size) {
+            System.arraycopy(array, index, array, index + 1, size - index);
+        }
+        array[index] = element;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the element at the specified index, shifting all following
+     * elements one position to the left.
+     *
+     * @param index the index of the element to be removed from the array
+     *
+     * @return an {@link Optional} containing the removed element, or an empty
+     * Optional if the removed element was null
+     *
+     * @throws IndexOutOfBoundsException if the index is not below the size
+     */
+    @Override
+    public Optional<E> removeAt(final int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        E element = array[index];
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(array, index + 1, array, index, moved);
+        }
+        array[--size] = null;
+        modCount++;
+
+        return Optional.ofNullable(element);
+    }
+
+    /**
+     * Returns true if the array contains the specified element, false
+     * otherwise.
+     *
+     * @param element the element to be searched for in the array
+     *
+     * @return true if the array contains the specified element, false otherwise
+     */
+    @Override
+    public boolean contains(final E element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified element in the
+     * array.
+     *
+     * @param element the element to be searched for in the array
+     *
+     * @return the index of the first occurrence of the specified element in the
+     * array, or -1 if the element was not found
+     */
+    @Override
+    public int indexOf(final E element) {
+        for (int i = 0; i < size; i++) {
+            if (element == null ? array[i] == null : element.equals(array[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Not supported: inserting into or removing from a DynamicArray shifts
+     * the positions of all following elements, which would have to be
+     * renumbered in the index.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void enableIndex() {
+        throw new UnsupportedOperationException("DynamicArray cannot be indexed");
+    }
+
+    @Override
+    int bulkLength() {
+        return size;
+    }
+
+    /**
+     * Grows the backing array, if necessary, so that it can hold at least the
+     * specified amount of elements without growing again.
+     *
+     * @param minimumCapacity the desired minimum capacity
+     *
+     * @throws IllegalStateException if the capacity exceeds the largest
+     *                               possible array length
+     */
+    public void ensureCapacity(final int minimumCapacity) {
+        if (minimumCapacity > array.length) {
+            grow(minimumCapacity);
+        }
+    }
+
+    /**
+     * Shrinks the backing array to the current size of the array, releasing
+     * the unused capacity.
+     */
+    public void trimToSize() {
+        if (size < array.length) {
+            array = Arrays.copyOf(array, size);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all elements from the array. The capacity is kept.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(array, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns a new array containing the elements of this array in order. Its
+     * length is the size of this array.
+     *
+     * @return an array containing all the elements in the array
+     */
+    @Override
+    public E[] toArray() {
+        return Arrays.copyOf(array, size);
+    }
+
+    /**
+     * Estimates the memory used by the array. Every slot past the size counts
+     * as empty.
+     *
+     * @return the memory footprint of the array
+     */
+    @Override
+    public Footprint footprint() {
+        long shallow = Footprint.objectBytes(2, 2 * Integer.BYTES);
+        long retained = shallow + Footprint.arrayBytes(array.length, Footprint.REFERENCE_BYTES) + indexBytes();
+        return new Footprint(shallow, retained, array.length, size, array.length - size, 0);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new DynamicArrayIterator();
+    }
+
+    /**
+     * Grows the backing array by half of its length, or to the specified
+     * capacity if that is larger.
+     *
+     * @param minimumCapacity the capacity the array needs at least
+     */
+    private void grow(final int minimumCapacity) {
+        if (minimumCapacity < 0 || minimumCapacity > MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("DynamicArray is full");
+        }
+
+        long grown = (long) array.length + (array.length >> 1);
+        int capacity = (int) Math.min(MAXIMUM_CAPACITY, Math.max(grown, Math.max(minimumCapacity, DEFAULT_CAPACITY)));
+        array = Arrays.copyOf(array, capacity);
+    }
+
+    private static int checkCapacity(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        return capacity;
+    }
+
+    /**
+     * The DynamicArrayIterator class is a fail-fast iterator over the elements
+     * in the DynamicArray class.
+     */
+    private class DynamicArrayIterator implements Iterator<E> {
+        /**
+         * The current index in the DynamicArray
+         */
+        private int index;
+
+        /**
+         * The modification count the DynamicArray is expected to have
+         */
+        private final int expectedModCount = modCount;
+
+        /**
+         * @return true if the DynamicArray has more elements to iterate over,
+         * false otherwise
+         */
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        /**
+         * Returns the next element in the DynamicArray and advances the
+         * iterator.
+         *
+         * @return the next element in the DynamicArray
+         *
+         * @throws NoSuchElementException          if there are no more
+         *                                         elements to iterate over
+         * @throws ConcurrentModificationException if the DynamicArray has
+         *                                         been structurally modified
+         */
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return array[index++];
+        }
+    }
+}
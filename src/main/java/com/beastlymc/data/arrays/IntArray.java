@@ -0,0 +1,297 @@
+package com.beastlymc.data.arrays;
+
+import com.beastlymc.data.common.Footprint;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+
+/**
+ * The IntArray class is a fixed-size array of primitive {@code int} values.
+ * It follows the semantics of {@link Array}, but stores its elements in an
+ * {@code int[]} so they are neither boxed nor reached through a pointer. Which
+ * slots hold an element is tracked in a bitmap; reading an empty slot returns
+ * zero.
+ * <p>
+ * The aggregates {@link #sum()}, {@link #min()} and {@link #max()} run simple
+ * loops over the backing array that the JIT compiler can vectorize.
+ */
+public class IntArray extends AbstractPrimitiveArray {
+
+    /**
+     * The array of elements
+     */
+    private final int[] values;
+
+    /**
+     * Constructs a new IntArray object with the specified capacity.
+     *
+     * @param capacity the capacity of the array
+     *
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public IntArray(final int capacity) {
+        super(capacity);
+        values = new int[capacity];
+    }
+
+    /**
+     * Stores the specified value at the specified index, replacing any value
+     * stored there.
+     *
+     * @param index the index at which to store the value
+     * @param value the value to store
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public void insert(final int index, final int value) {
+        checkIndex(index);
+        values[index] = value;
+        occupy(index);
+    }
+
+    /**
+     * Stores the specified value in the first empty slot of the array.
+     *
+     * @param value the value to store
+     *
+     * @throws IllegalStateException if every slot holds an element
+     */
+    public void add(final int value) {
+        insert(firstEmpty(), value);
+    }
+
+    /**
+     * Returns the value at the specified index in the array.
+     *
+     * @param index the index of the value to return
+     *
+     * @return the value at the specified index, or 0 if the slot is empty
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int get(final int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * Removes the value at the specified index from the array.
+     *
+     * @param index the index of the value to be removed from the array
+     *
+     * @return an {@link OptionalInt} containing the removed value, or an empty
+     * OptionalInt if the slot was empty
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public OptionalInt removeAt(final int index) {
+        checkIndex(index);
+        if (!vacate(index)) {
+            return OptionalInt.empty();
+        }
+
+        int value = values[index];
+        values[index] = 0;
+        return OptionalInt.of(value);
+    }
+
+    /**
+     * Removes the first occurrence of the specified value from the array.
+     *
+     * @param value the value to be removed from the array
+     *
+     * @return true if the value was found and removed, false otherwise
+     */
+    public boolean remove(final int value) {
+        int index = indexOf(value);
+        if (index == -1) {
+            return false;
+        }
+
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Returns true if the array contains the specified value, false
+     * otherwise.
+     *
+     * @param value the value to be searched for in the array
+     *
+     * @return true if the array contains the specified value, false otherwise
+     */
+    public boolean contains(final int value) {
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified value in the
+     * array.
+     *
+     * @param value the value to be searched for in the array
+     *
+     * @return the index of the first occurrence of the specified value in the
+     * array, or -1 if the value was not found
+     */
+    public int indexOf(final int value) {
+        for (int i = 0; i < capacity; i++) {
+            if (values[i] == value && (occupied[i >>> 6] & (1L << i)) != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the sum of all values in the array.
+     *
+     * @return the sum of all values, or 0 if the array is empty
+     */
+    public long sum() {
+        long sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the smallest value in the array.
+     *
+     * @return an {@link OptionalInt} containing the smallest value, or an empty
+     * OptionalInt if the array is empty
+     */
+    public OptionalInt min() {
+        if (size == 0) {
+            return OptionalInt.empty();
+        }
+
+        int min = Integer.MAX_VALUE;
+        for (int word = 0; word < occupied.length; word++) {
+            int start = word << 6;
+            if (isFull(word)) {
+                for (int i = start; i < start + 64; i++) {
+                    min = Math.min(min, values[i]);
+                }
+            } else {
+                for (long bits = occupied[word]; bits != 0; bits &= bits - 1) {
+                    min = Math.min(min, values[start + Long.numberOfTrailingZeros(bits)]);
+                }
+            }
+        }
+        return OptionalInt.of(min);
+    }
+
+    /**
+     * Returns the largest value in the array.
+     *
+     * @return an {@link OptionalInt} containing the largest value, or an empty
+     * OptionalInt if the array is empty
+     */
+    public OptionalInt max() {
+        if (size == 0) {
+            return OptionalInt.empty();
+        }
+
+        int max = Integer.MIN_VALUE;
+        for (int word = 0; word < occupied.length; word++) {
+            int start = word << 6;
+            if (isFull(word)) {
+                for (int i = start; i < start + 64; i++) {
+                    max = Math.max(max, values[i]);
+                }
+            } else {
+                for (long bits = occupied[word]; bits != 0; bits &= bits - 1) {
+                    max = Math.max(max, values[start + Long.numberOfTrailingZeros(bits)]);
+                }
+            }
+        }
+        return OptionalInt.of(max);
+    }
+
+    /**
+     * Returns a new array containing the values of all occupied slots in index
+     * order.
+     *
+     * @return an array containing all the values in the array
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        int count = 0;
+        for (int i = nextOccupied(0); i != -1; i = nextOccupied(i + 1)) {
+            result[count++] = values[i];
+        }
+        return result;
+    }
+
+    /**
+     * @return an iterator over the values of all occupied slots in index order
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntArrayIterator();
+    }
+
+    @Override
+    protected void clearValues() {
+        Arrays.fill(values, 0);
+    }
+
+    @Override
+    public Footprint footprint() {
+        return footprint(Integer.BYTES);
+    }
+
+    /**
+     * @return a string representation of the array
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (int i = nextOccupied(0); i != -1; i = nextOccupied(i + 1)) {
+            if (sb.length() > 1) {
+                sb.append(",");
+            }
+            sb.append(values[i]);
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /**
+     * The IntArrayIterator class is an iterator over the values in the
+     * IntArray class that does not box them.
+     */
+    private class IntArrayIterator implements PrimitiveIterator.OfInt {
+        /**
+         * The index of the next occupied slot, or -1 if there is none
+         */
+        private int next = nextOccupied(0);
+
+        @Override
+        public boolean hasNext() {
+            return next != -1;
+        }
+
+        /**
+         * Returns the next value in the IntArray and advances the iterator.
+         *
+         * @return the next value in the IntArray
+         *
+         * @throws NoSuchElementException if there are no more values to
+         *                                iterate over
+         */
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            int value = values[next];
+            next = nextOccupied(next + 1);
+            return value;
+        }
+    }
+}
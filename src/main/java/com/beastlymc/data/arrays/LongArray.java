@@ -0,0 +1,298 @@
+package com.beastlymc.data.arrays;
+
+import com.beastlymc.data.common.Footprint;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
+
+/**
+ * The LongArray class is a fixed-size array of primitive {@code long} values.
+ * It follows the semantics of {@link Array}, but stores its elements in an
+ * {@code long[]} so they are neither boxed nor reached through a pointer. Which
+ * slots hold an element is tracked in a bitmap; reading an empty slot returns
+ * zero.
+ * <p>
+ * The aggregates {@link #sum()}, {@link #min()} and {@link #max()} run simple
+ * loops over the backing array that the JIT compiler can vectorize.
+ */
+public class LongArray extends AbstractPrimitiveArray {
+
+    /**
+     * The array of elements
+     */
+    private final long[] values;
+
+    /**
+     * Constructs a new LongArray object with the specified capacity.
+     *
+     * @param capacity the capacity of the array
+     *
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public LongArray(final int capacity) {
+        super(capacity);
+        values = new long[capacity];
+    }
+
+    /**
+     * Stores the specified value at the specified index, replacing any value
+     * stored there.
+     *
+     * @param index the index at which to store the value
+     * @param value the value to store
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public void insert(final int index, final long value) {
+        checkIndex(index);
+        values[index] = value;
+        occupy(index);
+    }
+
+    /**
+     * Stores the specified value in the first empty slot of the array.
+     *
+     * @param value the value to store
+     *
+     * @throws IllegalStateException if every slot holds an element
+     */
+    public void add(final long value) {
+        insert(firstEmpty(), value);
+    }
+
+    /**
+     * Returns the value at the specified index in the array.
+     *
+     * @param index the index of the value to return
+     *
+     * @return the value at the specified index, or 0 if the slot is empty
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public long get(final int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    /**
+     * Removes the value at the specified index from the array.
+     *
+     * @param index the index of the value to be removed from the array
+     *
+     * @return an {@link OptionalLong} containing the removed value, or an empty
+     * OptionalLong if the slot was empty
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public OptionalLong removeAt(final int index) {
+        checkIndex(index);
+        if (!vacate(index)) {
+            return OptionalLong.empty();
+        }
+
+        long value = values[index];
+        values[index] = 0;
+        return OptionalLong.of(value);
+    }
+
+    /**
+     * Removes the first occurrence of the specified value from the array.
+     *
+     * @param value the value to be removed from the array
+     *
+     * @return true if the value was found and removed, false otherwise
+     */
+    public boolean remove(final long value) {
+        int index = indexOf(value);
+        if (index == -1) {
+            return false;
+        }
+
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Returns true if the array contains the specified value, false
+     * otherwise.
+     *
+     * @param value the value to be searched for in the array
+     *
+     * @return true if the array contains the specified value, false otherwise
+     */
+    public boolean contains(final long value) {
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified value in the
+     * array.
+     *
+     * @param value the value to be searched for in the array
+     *
+     * @return the index of the first occurrence of the specified value in the
+     * array, or -1 if the value was not found
+     */
+    public int indexOf(final long value) {
+        for (int i = 0; i < capacity; i++) {
+            if (values[i] == value && (occupied[i >>> 6] & (1L << i)) != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the sum of all values in the array. The sum overflows silently,
+     * like the addition of two longs.
+     *
+     * @return the sum of all values, or 0 if the array is empty
+     */
+    public long sum() {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the smallest value in the array.
+     *
+     * @return an {@link OptionalLong} containing the smallest value, or an empty
+     * OptionalLong if the array is empty
+     */
+    public OptionalLong min() {
+        if (size == 0) {
+            return OptionalLong.empty();
+        }
+
+        long min = Long.MAX_VALUE;
+        for (int word = 0; word < occupied.length; word++) {
+            int start = word << 6;
+            if (isFull(word)) {
+                for (int i = start; i < start + 64; i++) {
+                    min = Math.min(min, values[i]);
+                }
+            } else {
+                for (long bits = occupied[word]; bits != 0; bits &= bits - 1) {
+                    min = Math.min(min, values[start + Long.numberOfTrailingZeros(bits)]);
+                }
+            }
+        }
+        return OptionalLong.of(min);
+    }
+
+    /**
+     * Returns the largest value in the array.
+     *
+     * @return an {@link OptionalLong} containing the largest value, or an empty
+     * OptionalLong if the array is empty
+     */
+    public OptionalLong max() {
+        if (size == 0) {
+            return OptionalLong.empty();
+        }
+
+        long max = Long.MIN_VALUE;
+        for (int word = 0; word < occupied.length; word++) {
+            int start = word << 6;
+            if (isFull(word)) {
+                for (int i = start; i < start + 64; i++) {
+                    max = Math.max(max, values[i]);
+                }
+            } else {
+                for (long bits = occupied[word]; bits != 0; bits &= bits - 1) {
+                    max = Math.max(max, values[start + Long.numberOfTrailingZeros(bits)]);
+                }
+            }
+        }
+        return OptionalLong.of(max);
+    }
+
+    /**
+     * Returns a new array containing the values of all occupied slots in index
+     * order.
+     *
+     * @return an array containing all the values in the array
+     */
+    public long[] toArray() {
+        long[] result = new long[size];
+        int count = 0;
+        for (int i = nextOccupied(0); i != -1; i = nextOccupied(i + 1)) {
+            result[count++] = values[i];
+        }
+        return result;
+    }
+
+    /**
+     * @return an iterator over the values of all occupied slots in index order
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new LongArrayIterator();
+    }
+
+    @Override
+    protected void clearValues() {
+        Arrays.fill(values, 0);
+    }
+
+    @Override
+    public Footprint footprint() {
+        return footprint(Long.BYTES);
+    }
+
+    /**
+     * @return a string representation of the array
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (int i = nextOccupied(0); i != -1; i = nextOccupied(i + 1)) {
+            if (sb.length() > 1) {
+                sb.append(",");
+            }
+            sb.append(values[i]);
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /**
+     * The LongArrayIterator class is an iterator over the values in the
+     * LongArray class that does not box them.
+     */
+    private class LongArrayIterator implements PrimitiveIterator.OfLong {
+        /**
+         * The index of the next occupied slot, or -1 if there is none
+         */
+        private int next = nextOccupied(0);
+
+        @Override
+        public boolean hasNext() {
+            return next != -1;
+        }
+
+        /**
+         * Returns the next value in the LongArray and advances the iterator.
+         *
+         * @return the next value in the LongArray
+         *
+         * @throws NoSuchElementException if there are no more values to
+         *                                iterate over
+         */
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            long value = values[next];
+            next = nextOccupied(next + 1);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.beastlymc.data.arrays;
+
+import com.beastlymc.data.common.Footprint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The MappedArray class is a fixed-size array of fixed-size records that is
+ * persisted in a file. The file is mapped into memory with
+ * {@link FileChannel#map(FileChannel.MapMode, long, long)}, so records are
+ * read and written like those of an {@link OffHeapArray}, while the operating
+ * system writes them back to the file. Reopening an existing file makes all
+ * its records available at once, without reading or deserializing them.
+ * <p>
+ * The file starts with a small header recording the format, the record size,
+ * the capacity and the size of the array, followed by the bitmap of occupied
+ * slots and the records. All values are stored in little-endian byte order.
+ * Changes reach the file at a time chosen by the operating system; call
+ * {@link #force()} to write them to the storage device before relying on
+ * them surviving a crash. When a file is opened its size is recounted from
+ * the bitmap, so a size in the header that was not written back is repaired.
+ * <p>
+ * This class is not thread-safe, and a file must not be mapped by more than
+ * one MappedArray at a time.
+ */
+public final class MappedArray extends AbstractBufferArray {
+
+    /**
+     * Identifies a MappedArray file, the ASCII characters "MARR".
+     */
+    private static final int MAGIC = 0x4D415252;
+
+    /**
+     * The version of the file format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The size of the header in bytes.
+     */
+    private static final int HEADER_BYTES = 64;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int RECORD_SIZE_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 16;
+    private static final int SIZE_OFFSET = 24;
+
+    /**
+     * The largest amount of bytes mapped by a single chunk.
+     */
+    private static final int MAXIMUM_CHUNK_BYTES = 1 << 30;
+
+    /**
+     * The file backing this array.
+     */
+    private final Path file;
+
+    /**
+     * The mapped header of the file, null once the array is closed.
+     */
+    private MappedByteBuffer header;
+
+    /**
+     * Opens the MappedArray stored in the specified file, or creates the file
+     * if it does not exist or is empty.
+     *
+     * @param file       the file backing the array
+     * @param capacity   the amount of records the array can hold
+     * @param recordSize the size of a record in bytes
+     *
+     * @throws IOException              if the file cannot be opened or mapped,
+     *                                  or is not a MappedArray file
+     * @throws IllegalArgumentException if the capacity or record size are
+     *                                  illegal or differ from those stored in
+     *                                  an existing file
+     */
+    public MappedArray(final Path file, final long capacity, final int recordSize) throws IOException {
+        this(file, capacity, recordSize, MAXIMUM_CHUNK_BYTES);
+    }
+
+    /**
+     * Opens the existing MappedArray stored in the specified file, taking its
+     * capacity and record size from the header.
+     *
+     * @param file the file backing the array
+     *
+     * @throws IOException if the file cannot be opened or mapped, or is not a
+     *                     MappedArray file
+     */
+    public MappedArray(final Path file) throws IOException {
+        this(file, readHeader(file));
+    }
+
+    private MappedArray(final Path file, final ByteBuffer storedHeader) throws IOException {
+        this(file, storedHeader.getLong(CAPACITY_OFFSET), storedHeader.getInt(RECORD_SIZE_OFFSET),
+             MAXIMUM_CHUNK_BYTES);
+    }
+
+    /**
+     * Opens or creates a MappedArray that maps at most the specified amount of
+     * bytes per chunk.
+     *
+     * @param file       the file backing the array
+     * @param capacity   the amount of records the array can hold
+     * @param recordSize the size of a record in bytes
+     * @param chunkBytes the maximum size of a chunk in bytes
+     */
+    MappedArray(final Path file, final long capacity, final int recordSize, final int chunkBytes) throws IOException {
+        super(capacity, recordSize, chunkBytes);
+        this.file = file;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            boolean created = channel.size() == 0;
+            if (!created) {
+                checkHeader(file, readHeader(channel), capacity, recordSize);
+            }
+
+            header = map(channel, 0, HEADER_BYTES);
+            if (created) {
+                header.putInt(MAGIC_OFFSET, MAGIC);
+                header.putInt(VERSION_OFFSET, VERSION);
+                header.putInt(RECORD_SIZE_OFFSET, recordSize);
+                header.putLong(CAPACITY_OFFSET, capacity);
+            }
+
+            long bitmapBytes = bitmapBytes(capacity);
+            MappedByteBuffer bitmap = map(channel, HEADER_BYTES, bitmapBytes);
+
+            long recordsOffset = HEADER_BYTES + bitmapBytes;
+            ByteBuffer[] buffers = new ByteBuffer[chunkCount()];
+            for (int i = 0; i < buffers.length; i++) {
+                long position = recordsOffset + ((long) i << chunkShift) * recordSize;
+                buffers[i] = map(channel, position, recordsInChunk(i) * recordSize);
+            }
+            attach(buffers, bitmap);
+        }
+
+        size = countOccupied();
+        sizeChanged();
+    }
+
+    /**
+     * Writes all changes of the array to the storage device holding its file.
+     * Once this method returns the records, the bitmap and the header survive
+     * a crash of the process or the operating system.
+     *
+     * @throws IllegalStateException if the array is closed
+     */
+    public void force() {
+        checkOpen();
+        for (ByteBuffer chunk : chunks) {
+            ((MappedByteBuffer) chunk).force();
+        }
+        ((MappedByteBuffer) occupied).force();
+        header.force();
+    }
+
+    /**
+     * Returns the file backing this array.
+     *
+     * @return the path of the file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Estimates the heap memory used by the array, including the path of the
+     * file and the buffer of the mapped header.
+     *
+     * @return the memory footprint of the array
+     */
+    @Override
+    public Footprint footprint() {
+        long shallow = Footprint.objectBytes(4, 3 * Long.BYTES + 2 * Integer.BYTES);
+        if (isClosed()) {
+            return new Footprint(shallow, shallow, capacity, 0, capacity, 0);
+        }
+
+        long retained = shallow + Footprint.arrayBytes(chunks.length, Footprint.REFERENCE_BYTES) +
+                        (chunks.length + 2) * BUFFER_BYTES;
+        return new Footprint(shallow, retained, capacity, size, capacity - size, 0);
+    }
+
+    /**
+     * Forces all changes to the storage device and closes the array. The
+     * mappings are released once the buffers have been collected. Closing a
+     * closed array does nothing.
+     */
+    @Override
+    public void close() {
+        if (isClosed()) {
+            return;
+        }
+
+        force();
+        header = null;
+        super.close();
+    }
+
+    @Override
+    protected void sizeChanged() {
+        header.putLong(SIZE_OFFSET, size);
+    }
+
+    private static MappedByteBuffer map(final FileChannel channel, final long position, final long length)
+            throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static ByteBuffer readHeader(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer stored = readHeader(channel);
+            checkHeader(file, stored, stored.getLong(CAPACITY_OFFSET), stored.getInt(RECORD_SIZE_OFFSET));
+            return stored;
+        }
+    }
+
+    private static ByteBuffer readHeader(final FileChannel channel) throws IOException {
+        ByteBuffer stored = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        long position = 0;
+        while (stored.hasRemaining()) {
+            int read = channel.read(stored, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+        return stored;
+    }
+
+    /**
+     * Checks that the specified header belongs to a MappedArray file with the
+     * specified capacity and record size.
+     */
+    private static void checkHeader(final Path file, final ByteBuffer stored, final long capacity,
+                                    final int recordSize) throws IOException {
+        if (stored.position() < HEADER_BYTES || stored.getInt(MAGIC_OFFSET) != MAGIC) {
+            throw new IOException(file + " is not a MappedArray file");
+        }
+        if (stored.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException(file + " has unsupported version " + stored.getInt(VERSION_OFFSET));
+        }
+        if (stored.getLong(CAPACITY_OFFSET) != capacity || stored.getInt(RECORD_SIZE_OFFSET) != recordSize) {
+            throw new IllegalArgumentException(file + " holds " + stored.getLong(CAPACITY_OFFSET) + " records of " +
+                                               stored.getInt(RECORD_SIZE_OFFSET) + " bytes, expected " +
+                                               capacity + " records of " + recordSize + " bytes");
+        }
+    }
+}
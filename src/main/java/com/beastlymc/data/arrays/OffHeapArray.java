@@ -0,0 +1,67 @@
+package com.beastlymc.data.arrays;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The OffHeapArray class is a fixed-size array of fixed-size records that
+ * lives outside of the Java heap. The records are stored in direct
+ * {@link ByteBuffer} chunks, so the garbage collector never scans or copies
+ * them no matter how many there are. Which slots hold a record is tracked in
+ * an off-heap bitmap.
+ * <p>
+ * Records are accessed as described in {@link AbstractBufferArray}. The memory
+ * of the array is released once {@link #close()} has been called and the
+ * buffers have been collected; every access after closing throws an
+ * {@link IllegalStateException}. This class is not thread-safe.
+ */
+public final class OffHeapArray extends AbstractBufferArray {
+
+    /**
+     * The largest amount of bytes stored in a single chunk.
+     */
+    private static final int MAXIMUM_CHUNK_BYTES = 1 << 30;
+
+    /**
+     * Constructs a new OffHeapArray with the specified capacity and record
+     * size.
+     *
+     * @param capacity   the amount of records the array can hold
+     * @param recordSize the size of a record in bytes
+     *
+     * @throws IllegalArgumentException if the capacity is negative, the record
+     *                                  size is not positive or the array would
+     *                                  be too large
+     */
+    public OffHeapArray(final long capacity, final int recordSize) {
+        this(capacity, recordSize, MAXIMUM_CHUNK_BYTES);
+    }
+
+    /**
+     * Constructs a new OffHeapArray that stores at most the specified amount of
+     * bytes per chunk.
+     *
+     * @param capacity   the amount of records the array can hold
+     * @param recordSize the size of a record in bytes
+     * @param chunkBytes the maximum size of a chunk in bytes
+     */
+    OffHeapArray(final long capacity, final int recordSize, final int chunkBytes) {
+        super(capacity, recordSize, chunkBytes);
+
+        ByteBuffer[] buffers = new ByteBuffer[chunkCount()];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = ByteBuffer.allocateDirect((int) (recordsInChunk(i) * recordSize))
+                                   .order(ByteOrder.nativeOrder());
+        }
+        attach(buffers, ByteBuffer.allocateDirect((int) bitmapBytes(capacity)).order(ByteOrder.nativeOrder()));
+    }
+
+    /**
+     * Returns the amount of memory the array occupies outside of the heap.
+     *
+     * @return the size of all chunks and the bitmap in bytes
+     */
+    public long offHeapBytes() {
+        return capacity * recordSize + bitmapBytes(capacity);
+    }
+}
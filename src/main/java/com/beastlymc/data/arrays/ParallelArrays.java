@@ -0,0 +1,411 @@
+package com.beastlymc.data.arrays;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * The ParallelArrays class runs bulk operations on the elements of an
+ * {@link AbstractArray} in parallel, in the manner of the parallel methods of
+ * {@link Arrays}. Every operation splits the array into blocks of at most
+ * {@link #threshold()} slots and processes them as tasks of a
+ * {@link ForkJoinPool}; arrays no longer than one block are processed in the
+ * calling thread.
+ * <p>
+ * The operations cover every slot of a fixed-size array such as {@link Array}
+ * or {@link Vector}, and the elements up to the size of a
+ * {@link DynamicArray}. Empty slots, which hold null, are skipped by
+ * {@link #reduce(AbstractArray, BinaryOperator)} and
+ * {@link #prefix(AbstractArray, BinaryOperator)} and sorted after all other
+ * elements by {@link #sort(AbstractArray, Comparator)}. Operations that write
+ * to an array rebuild its index if it is enabled, and hold the lock of a
+ * Vector while they run.
+ */
+public final class ParallelArrays {
+
+    /**
+     * The default amount of slots processed sequentially by one task.
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    /**
+     * The pool running the tasks.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The largest amount of slots processed sequentially by one task.
+     */
+    private final int threshold;
+
+    /**
+     * Constructs a new ParallelArrays object that runs on the common pool with
+     * the default threshold.
+     */
+    public ParallelArrays() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Constructs a new ParallelArrays object that runs on the specified pool.
+     *
+     * @param pool      the pool running the tasks
+     * @param threshold the largest amount of slots processed sequentially by
+     *                  one task
+     *
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public ParallelArrays(final ForkJoinPool pool, final int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Illegal threshold: " + threshold);
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns the pool running the tasks.
+     *
+     * @return the pool
+     */
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    /**
+     * Returns the largest amount of slots processed sequentially by one task.
+     *
+     * @return the threshold
+     */
+    public int threshold() {
+        return threshold;
+    }
+
+    /**
+     * Sorts the elements of the array with a stable parallel merge sort.
+     * Blocks are sorted with {@link Arrays#sort(Object[], int, int, Comparator)}
+     * and merged in parallel. Empty slots are moved to the end of the array.
+     *
+     * @param array      the array to sort
+     * @param comparator the comparator determining the order of the elements
+     * @param <E>        the type of elements stored in the array
+     */
+    @SuppressWarnings("unchecked")
+    public <E> void sort(final AbstractArray<E> array, final Comparator<? super E> comparator) {
+        Comparator<? super E> order = Comparator.nullsLast(comparator);
+        array.writeBulk(elements -> {
+            int length = array.bulkLength();
+            if (length <= threshold) {
+                Arrays.sort(elements, 0, length, order);
+            } else {
+                E[] buffer = (E[]) new Object[length];
+                pool.invoke(new SortTask<>(elements, buffer, 0, length, false, order, threshold));
+            }
+        });
+    }
+
+    /**
+     * Stores the element computed by the generator for every index of the
+     * array. A generator returning null leaves the slot empty.
+     *
+     * @param array     the array to fill
+     * @param generator computes the element of an index
+     * @param <E>       the type of elements stored in the array
+     */
+    public <E> void setAll(final AbstractArray<E> array, final IntFunction<? extends E> generator) {
+        array.writeBulk(elements -> {
+            int length = array.bulkLength();
+            forEachBlock(length, block -> {
+                for (int i = blockStart(block, length), end = blockStart(block + 1, length); i < end; i++) {
+                    elements[i] = generator.apply(i);
+                }
+            });
+        });
+    }
+
+    /**
+     * Replaces every element of the array with the cumulation of all elements
+     * up to and including it, so that afterwards slot {@code i} holds the
+     * result of combining the elements at the indices {@code 0} to {@code i}
+     * in order. Empty slots stay empty and do not contribute.
+     * <p>
+     * The operator must be associative, since the blocks are cumulated
+     * separately before their totals are combined.
+     *
+     * @param array    the array to cumulate
+     * @param operator combines two elements, neither of which is null
+     * @param <E>      the type of elements stored in the array
+     */
+    @SuppressWarnings("unchecked")
+    public <E> void prefix(final AbstractArray<E> array, final BinaryOperator<E> operator) {
+        array.writeBulk(elements -> {
+            int length = array.bulkLength();
+            E[] totals = (E[]) new Object[blockCount(length)];
+            forEachBlock(length, block -> totals[block] = fold(elements, blockStart(block, length),
+                                                               blockStart(block + 1, length), operator));
+
+            E carry = null;
+            for (int block = 0; block < totals.length; block++) {
+                E total = totals[block];
+                totals[block] = carry;
+                carry = combine(carry, total, operator);
+            }
+
+            forEachBlock(length, block -> {
+                E running = totals[block];
+                for (int i = blockStart(block, length), end = blockStart(block + 1, length); i < end; i++) {
+                    if (elements[i] != null) {
+                        running = combine(running, elements[i], operator);
+                        elements[i] = running;
+                    }
+                }
+            });
+        });
+    }
+
+    /**
+     * Combines all elements of the array in index order. Empty slots are
+     * skipped.
+     * <p>
+     * The operator must be associative, since the blocks are reduced
+     * separately before their results are combined.
+     *
+     * @param array    the array to reduce
+     * @param operator combines two elements, neither of which is null
+     * @param <E>      the type of elements stored in the array
+     *
+     * @return an {@link Optional} containing the result, or an empty Optional
+     * if the array holds no elements
+     */
+    @SuppressWarnings("unchecked")
+    public <E> Optional<E> reduce(final AbstractArray<E> array, final BinaryOperator<E> operator) {
+        return array.readBulk(elements -> {
+            int length = array.bulkLength();
+            E[] results = (E[]) new Object[blockCount(length)];
+            forEachBlock(length, block -> results[block] = fold(elements, blockStart(block, length),
+                                                                blockStart(block + 1, length), operator));
+            return Optional.ofNullable(fold(results, 0, results.length, operator));
+        });
+    }
+
+    /**
+     * Runs the specified action for every block of an array of the specified
+     * length, in the calling thread if there is only one block.
+     */
+    private void forEachBlock(final int length, final IntConsumer action) {
+        int blocks = blockCount(length);
+        if (blocks == 1) {
+            action.accept(0);
+        } else if (blocks > 1) {
+            pool.invoke(new BlockAction(action, 0, blocks));
+        }
+    }
+
+    private int blockCount(final int length) {
+        return (int) (((long) length + threshold - 1) / threshold);
+    }
+
+    private int blockStart(final int block, final int length) {
+        return (int) Math.min(length, (long) block * threshold);
+    }
+
+    /**
+     * Combines the non-null elements in the specified range in order.
+     *
+     * @return the result, or null if the range holds no elements
+     */
+    private static <E> E fold(final E[] elements, final int from, final int to, final BinaryOperator<E> operator) {
+        E result = null;
+        for (int i = from; i < to; i++) {
+            result = combine(result, elements[i], operator);
+        }
+        return result;
+    }
+
+    private static <E> E combine(final E left, final E right, final BinaryOperator<E> operator) {
+        if (left == null) {
+            return right;
+        }
+        return right == null
+               ? left
+               : operator.apply(left, right);
+    }
+
+    /**
+     * Runs an action for every block in a range of blocks, splitting the range
+     * in halves until each task handles a single block.
+     */
+    @SuppressWarnings("serial")
+    private static final class BlockAction extends RecursiveAction {
+        private final IntConsumer action;
+        private final int from;
+        private final int to;
+
+        BlockAction(final IntConsumer action, final int from, final int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.accept(from);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new BlockAction(action, from, middle), new BlockAction(action, middle, to));
+        }
+    }
+
+    /**
+     * Sorts a range of one array into either the same array or the buffer,
+     * using the other as scratch space. Each half is sorted into the array
+     * the result is not meant for, and the halves are then merged into the
+     * target, so no level copies its result back.
+     */
+    @SuppressWarnings("serial")
+    private static final class SortTask<E> extends RecursiveAction {
+        private final E[] elements;
+        private final E[] buffer;
+        private final int from;
+        private final int to;
+        private final boolean intoBuffer;
+        private final Comparator<? super E> comparator;
+        private final int threshold;
+
+        SortTask(final E[] elements, final E[] buffer, final int from, final int to, final boolean intoBuffer,
+                 final Comparator<? super E> comparator, final int threshold) {
+            this.elements = elements;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.intoBuffer = intoBuffer;
+            this.comparator = comparator;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                Arrays.sort(elements, from, to, comparator);
+                if (intoBuffer) {
+                    System.arraycopy(elements, from, buffer, from, to - from);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new SortTask<>(elements, buffer, from, middle, !intoBuffer, comparator, threshold),
+                      new SortTask<>(elements, buffer, middle, to, !intoBuffer, comparator, threshold));
+
+            E[] source = intoBuffer
+                         ? elements
+                         : buffer;
+            E[] target = intoBuffer
+                         ? buffer
+                         : elements;
+            new MergeTask<>(source, from, middle, middle, to, target, from, comparator, threshold).compute();
+        }
+    }
+
+    /**
+     * Merges two adjacent sorted runs into another array. Large merges split
+     * the longer run at its middle element, find the matching position in the
+     * shorter run by binary search, and merge both parts in parallel. Equal
+     * elements of the left run are always placed before those of the right
+     * run, so the merge is stable.
+     */
+    @SuppressWarnings("serial")
+    private static final class MergeTask<E> extends RecursiveAction {
+        private final E[] source;
+        private final int leftFrom;
+        private final int leftTo;
+        private final int rightFrom;
+        private final int rightTo;
+        private final E[] target;
+        private final int targetFrom;
+        private final Comparator<? super E> comparator;
+        private final int threshold;
+
+        MergeTask(final E[] source, final int leftFrom, final int leftTo, final int rightFrom, final int rightTo,
+                  final E[] target, final int targetFrom, final Comparator<? super E> comparator,
+                  final int threshold) {
+            this.source = source;
+            this.leftFrom = leftFrom;
+            this.leftTo = leftTo;
+            this.rightFrom = rightFrom;
+            this.rightTo = rightTo;
+            this.target = target;
+            this.targetFrom = targetFrom;
+            this.comparator = comparator;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int leftLength = leftTo - leftFrom;
+            int rightLength = rightTo - rightFrom;
+            // Splitting fewer than three elements could leave one part empty.
+            if (leftLength + rightLength <= Math.max(threshold, 2)) {
+                merge();
+                return;
+            }
+
+            int leftSplit;
+            int rightSplit;
+            if (leftLength >= rightLength) {
+                leftSplit = (leftFrom + leftTo) >>> 1;
+                rightSplit = search(rightFrom, rightTo, source[leftSplit], false);
+            } else {
+                rightSplit = (rightFrom + rightTo) >>> 1;
+                leftSplit = search(leftFrom, leftTo, source[rightSplit], true);
+            }
+
+            int targetSplit = targetFrom + (leftSplit - leftFrom) + (rightSplit - rightFrom);
+            invokeAll(new MergeTask<>(source, leftFrom, leftSplit, rightFrom, rightSplit, target, targetFrom,
+                                      comparator, threshold),
+                      new MergeTask<>(source, leftSplit, leftTo, rightSplit, rightTo, target, targetSplit,
+                                      comparator, threshold));
+        }
+
+        /**
+         * Returns the first position in the range whose element is greater
+         * than the key, or greater than or equal to it if {@code inclusive} is
+         * false.
+         */
+        private int search(final int from, final int to, final E key, final boolean inclusive) {
+            int low = from;
+            int high = to;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = comparator.compare(source[middle], key);
+                if (comparison < 0 || inclusive && comparison == 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private void merge() {
+            int left = leftFrom;
+            int right = rightFrom;
+            int position = targetFrom;
+            while (left < leftTo && right < rightTo) {
+                target[position++] = comparator.compare(source[right], source[left]) < 0
+                                     ? source[right++]
+                                     : source[left++];
+            }
+            System.arraycopy(source, left, target, position, leftTo - left);
+            System.arraycopy(source, right, target, position + leftTo - left, rightTo - right);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.beastlymc.data.arrays;
+
+import com.beastlymc.data.common.Footprint;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * The SparseArray class is a fixed-size array that extends the
+ * {@link AbstractArray} class and tracks which slots hold an element in a
+ * bitmap, rather than treating null as an empty slot. This makes null a
+ * regular element, keeps {@link #size()} equal to the number of stored
+ * elements no matter where they are, and lets iteration skip runs of empty
+ * slots 64 at a time with {@link #nextOccupied(int)}.
+ * <p>
+ * Removing elements leaves holes. Arrays with heavy churn can close them with
+ * {@link #compact()}, which moves all elements to the front in a single pass
+ * without changing their order.
+ *
+ * @param <E> the type of elements stored in the SparseArray
+ */
+public class SparseArray<E> extends AbstractArray<E> {
+
+    /**
+     * One bit per slot, set if the slot holds an element.
+     */
+    private final long[] occupied;
+
+    /**
+     * The number of elements in the array
+     */
+    private int size;
+
+    /**
+     * Constructs a new SparseArray object with the specified capacity.
+     *
+     * @param capacity the capacity of the array
+     *
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public SparseArray(final int capacity) {
+        super(checkCapacity(capacity));
+        occupied = new long[(capacity + 63) >>> 6];
+    }
+
+    /**
+     * Returns the element at the specified index in the array.
+     *
+     * @param index the index of the element to return
+     *
+     * @return the element at the specified index, or null if the slot is
+     * empty
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @Override
+    public E get(final int index) {
+        checkIndex(index);
+        return array[index];
+    }
+
+    /**
+     * Stores the specified element, which may be null, at the specified index,
+     * replacing any element stored there.
+     *
+     * @param index   the index at which to store the element
+     * @param element the element to store
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @Override
+    public void insert(final int index, final E element) {
+        checkIndex(index);
+
+        E oldElement = array[index];
+        array[index] = element;
+        long bit = 1L << index;
+        if ((occupied[index >>> 6] & bit) == 0) {
+            occupied[index >>> 6] |= bit;
+            size++;
+            modCount++;
+        }
+        updateIndex(index, oldElement, element);
+    }
+
+    /**
+     * Stores the specified element in the first empty slot of the array.
+     *
+     * @param element the element to store
+     *
+     * @throws IllegalStateException if every slot holds an element
+     */
+    @Override
+    public void add(final E element) {
+        int index = nextEmpty(0);
+        if (index == -1) {
+            throw new IllegalStateException("SparseArray is full");
+        }
+        insert(index, element);
+    }
+
+    /**
+     * Removes the element at the specified index from the array.
+     *
+     * @param index the index of the element to be removed from the array
+     *
+     * @return an {@link Optional} containing the removed element, or an empty
+     * Optional if the slot was empty or held null
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @Override
+    public Optional<E> removeAt(final int index) {
+        checkIndex(index);
+
+        long bit = 1L << index;
+        if ((occupied[index >>> 6] & bit) == 0) {
+            return Optional.empty();
+        }
+
+        E element = array[index];
+        array[index] = null;
+        occupied[index >>> 6] &= ~bit;
+        size--;
+        modCount++;
+        updateIndex(index, element, null);
+        return Optional.ofNullable(element);
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified element,
+     * which may be null, in the array. Empty slots never match.
+     *
+     * @param element the element to be searched for in the array
+     *
+     * @return the index of the first occurrence of the specified element in the
+     * array, or -1 if the element was not found
+     */
+    @Override
+    public int indexOf(final E element) {
+        if (element != null) {
+            return indexOf(array, element);
+        }
+
+        for (int i = nextOccupied(0); i != -1; i = nextOccupied(i + 1)) {
+            if (array[i] == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the slot at the specified index holds an element.
+     *
+     * @param index the index of the slot
+     *
+     * @return true if the slot holds an element, false otherwise
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public boolean isOccupied(final int index) {
+        checkIndex(index);
+        return (occupied[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the index of the first occupied slot at or after the specified
+     * index. Empty slots are skipped a whole bitmap word at a time.
+     *
+     * @param from the index to start searching at
+     *
+     * @return the index of the next occupied slot, or -1 if there is none
+     *
+     * @throws IndexOutOfBoundsException if the index is negative
+     */
+    public int nextOccupied(final int from) {
+        return next(from, 0L);
+    }
+
+    /**
+     * Returns the index of the first empty slot at or after the specified
+     * index.
+     *
+     * @param from the index to start searching at
+     *
+     * @return the index of the next empty slot, or -1 if there is none
+     *
+     * @throws IndexOutOfBoundsException if the index is negative
+     */
+    public int nextEmpty(final int from) {
+        return next(from, -1L);
+    }
+
+    /**
+     * Moves all elements to the front of the array, keeping their order, so
+     * that afterwards the slots from 0 to {@code size() - 1} are occupied and
+     * all others are empty. Every run of elements is moved with a single
+     * {@link System#arraycopy} call. An enabled index is rebuilt.
+     */
+    public void compact() {
+        int target = 0;
+        for (int start = nextOccupied(0); start != -1; ) {
+            int end = nextEmpty(start);
+            if (end == -1) {
+                end = array.length;
+            }
+            if (start != target) {
+                System.arraycopy(array, start, array, target, end - start);
+            }
+            target += end - start;
+            start = nextOccupied(end);
+        }
+
+        Arrays.fill(array, size, array.length, null);
+        Arrays.fill(occupied, 0L);
+        Arrays.fill(occupied, 0, size >>> 6, -1L);
+        if ((size & 63) != 0) {
+            occupied[size >>> 6] = (1L << size) - 1;
+        }
+        modCount++;
+
+        if (isIndexed()) {
+            disableIndex();
+            enableIndex();
+        }
+    }
+
+    /**
+     * Returns the number of elements in the array, which is the number of
+     * occupied slots.
+     *
+     * @return the number of elements in the array
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(array, null);
+        Arrays.fill(occupied, 0L);
+        size = 0;
+        modCount++;
+        clearIndex();
+    }
+
+    @Override
+    public E[] toArray() {
+        return array;
+    }
+
+    /**
+     * Marks every slot holding a non-null element as occupied and every other
+     * slot as empty, since bulk operations treat null as an empty slot.
+     */
+    @Override
+    void bulkWritten() {
+        size = 0;
+        Arrays.fill(occupied, 0L);
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] != null) {
+                occupied[i >>> 6] |= 1L << i;
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Returns a spliterator over the elements of all occupied slots in index
+     * order.
+     *
+     * @return a spliterator over the elements in the array
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Estimates the memory used by the array, including its bitmap.
+     *
+     * @return the memory footprint of the array
+     */
+    @Override
+    public Footprint footprint() {
+        long shallow = Footprint.objectBytes(3, 2 * Integer.BYTES);
+        long retained = shallow + Footprint.arrayBytes(array.length, Footprint.REFERENCE_BYTES) +
+                        Footprint.arrayBytes(occupied.length, Long.BYTES) + indexBytes();
+        return new Footprint(shallow, retained, array.length, size, array.length - size, 0);
+    }
+
+    /**
+     * @return an iterator over the elements of all occupied slots in index
+     * order
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new SparseArrayIterator();
+    }
+
+    /**
+     * @return a string representation of the array
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (int i = nextOccupied(0); i != -1; i = nextOccupied(i + 1)) {
+            if (sb.length() > 1) {
+                sb.append(",");
+            }
+            sb.append(array[i]);
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    /**
+     * Returns the first index at or after the specified index whose bit
+     * differs from the specified word pattern.
+     *
+     * @param from  the index to start searching at, which may be at or past
+     *              the end but not negative
+     * @param empty 0 to search for a set bit, -1 to search for a clear bit
+     */
+    private int next(final int from, final long empty) {
+        if (from < 0) {
+            throw new IndexOutOfBoundsException(from);
+        }
+        if (from >= array.length) {
+            return -1;
+        }
+
+        int wordIndex = from >>> 6;
+        long word = (occupied[wordIndex] ^ empty) & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                int index = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                return index < array.length
+                       ? index
+                       : -1;
+            }
+            if (++wordIndex == occupied.length) {
+                return -1;
+            }
+            word = occupied[wordIndex] ^ empty;
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= array.length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+
+    private static int checkCapacity(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        return capacity;
+    }
+
+    /**
+     * The SparseArrayIterator class is a fail-fast iterator over the elements
+     * in the SparseArray class that skips empty slots.
+     */
+    private class SparseArrayIterator implements Iterator<E> {
+        /**
+         * The index of the next occupied slot, or -1 if there is none
+         */
+        private int next = nextOccupied(0);
+
+        /**
+         * The modification count the SparseArray is expected to have
+         */
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next != -1;
+        }
+
+        /**
+         * Returns the next element in the SparseArray and advances the
+         * iterator.
+         *
+         * @return the next element in the SparseArray
+         *
+         * @throws NoSuchElementException          if there are no more
+         *                                         elements to iterate over
+         * @throws ConcurrentModificationException if the SparseArray has
+         *                                         been structurally modified
+         */
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            E element = array[next];
+            next = nextOccupied(next + 1);
+            return element;
+        }
+    }
+}
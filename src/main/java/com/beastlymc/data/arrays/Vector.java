@@ -1,9 +1,16 @@
 package com.beastlymc.data.arrays;
 
 
+import com.beastlymc.data.common.Footprint;
+import com.beastlymc.data.common.Map;
+import com.beastlymc.data.hash.ConcurrentHashMap;
+
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * The Vector class is a thread-safe implementation of a fixed size array that
@@ -12,11 +19,31 @@ import java.util.Optional;
  * for inserting, removing, and querying elements in the array. The class is
  * parameterized over a type E, which represents the type of elements stored in
  * the array.
+ * <p>
+ * The Vector is tuned for read-mostly workloads. All writes hold the write
+ * lock of a {@link StampedLock}, while reads first try an optimistic read
+ * that takes no lock at all and only fall back to the shared read lock if a
+ * write happened in the meantime. Readers therefore never block each other,
+ * and as long as nobody writes they do not even touch shared memory. An
+ * enabled index is kept in a {@link ConcurrentHashMap} so that indexed lookups
+ * stay lock free as well.
+ * <p>
+ * Unlike those of the other arrays, the iterators of a Vector are weakly
+ * consistent: they never throw a
+ * {@link java.util.ConcurrentModificationException}, and may or may not
+ * reflect writes made after they were created. Every element they return was
+ * stored at its index at some point during the iteration.
  *
  * @param <E> the type of elements stored in the Vector
  */
 public class Vector<E> extends AbstractArray<E> {
 
+    /**
+     * Guards the backing array and the size. The lock is not reentrant, so
+     * methods holding it must not call other locking methods.
+     */
+    private final StampedLock lock = new StampedLock();
+
     /**
      * The current size of the array
      */
@@ -33,86 +60,227 @@ public class Vector<E> extends AbstractArray<E> {
     }
 
     @Override
-    public synchronized E[] toArray() {
-        return array;
+    public E[] toArray() {
+        long stamp = lock.tryOptimisticRead();
+        E[] elements = array;
+        if (lock.validate(stamp)) {
+            return elements;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return array;
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
     @Override
-    public synchronized E get(final int index) {
-        return super.get(index);
+    public E get(final int index) {
+        long stamp = lock.tryOptimisticRead();
+        E[] elements = array;
+        if (index >= 0 && index < elements.length) {
+            E element = elements[index];
+            if (lock.validate(stamp)) {
+                return element;
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return super.get(index);
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
     @Override
-    public synchronized boolean isEmpty() {
-        return super.isEmpty();
+    public boolean isEmpty() {
+        return size == 0;
     }
 
     @Override
-    public synchronized void insert(final int index, final E element) {
-        if (index < 0 || index >= array.length) {
-            throw new IndexOutOfBoundsException(index);
+    public void insert(final int index, final E element) {
+        long stamp = lock.writeLock();
+        try {
+            insertLocked(index, element);
+        } finally {
+            lock.unlockWrite(stamp);
         }
-
-        size = Math.max(index + 1, size);
-        array[index] = element;
     }
 
     @Override
-    public synchronized void add(final E element) {
-        super.add(element);
+    public void add(final E element) {
+        long stamp = lock.writeLock();
+        try {
+            insertLocked(size, element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     @Override
-    public synchronized Optional<E> remove(final E element) {
-        return super.remove(element);
+    public Optional<E> remove(final E element) {
+        long stamp = lock.writeLock();
+        try {
+            int index = indexOf(array, element);
+            if (index == -1) {
+                return Optional.empty();
+            }
+            return removeAtLocked(index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     @Override
-    public synchronized Optional<E> removeAt(final int index) {
-        size--;
-        return super.removeAt(index);
+    public Optional<E> removeAt(final int index) {
+        long stamp = lock.writeLock();
+        try {
+            return removeAtLocked(index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     @Override
-    public synchronized boolean contains(final E element) {
-        return super.contains(element);
+    public boolean contains(final E element) {
+        return indexOf(element) != -1;
     }
 
     @Override
-    public synchronized int indexOf(final E element) {
-        return super.indexOf(element);
+    public int indexOf(final E element) {
+        long stamp = lock.tryOptimisticRead();
+        int index = indexOf(array, element);
+        if (lock.validate(stamp)) {
+            return index;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return indexOf(array, element);
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
     @Override
-    public synchronized int length() {
-        return super.length();
+    public int length() {
+        return toArray().length;
     }
 
     @Override
-    public synchronized int size() {
+    public int size() {
         return size;
     }
 
     @Override
-    public synchronized void clear() {
-        int length = length();
-        array = (E[]) new Object[length];
-        size = 0;
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            array = (E[]) new Object[array.length];
+            size = 0;
+            modCount++;
+            clearIndex();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void enableIndex() {
+        long stamp = lock.writeLock();
+        try {
+            super.enableIndex();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void disableIndex() {
+        long stamp = lock.writeLock();
+        try {
+            super.disableIndex();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     @Override
-    public synchronized Iterator<E> iterator() {
+    <R> R readBulk(final Function<E[], R> operation) {
+        long stamp = lock.readLock();
+        try {
+            return super.readBulk(operation);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    void writeBulk(final Consumer<E[]> operation) {
+        long stamp = lock.writeLock();
+        try {
+            super.writeBulk(operation);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    void bulkWritten() {
+        size = occupiedLength(array);
+    }
+
+    @Override
+    Map<E, Positions> createIndex() {
+        return new ConcurrentHashMap<>();
+    }
+
+    @Override
+    long shallowBytes() {
+        return Footprint.objectBytes(3, 2 * Integer.BYTES);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
         return new VectorIterator<>(this);
     }
 
     @Override
-    public synchronized String toString() {
-        return super.toString();
+    public String toString() {
+        long stamp = lock.readLock();
+        try {
+            return super.toString();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void insertLocked(final int index, final E element) {
+        if (index < 0 || index >= array.length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        E oldElement = array[index];
+        array[index] = element;
+        size = Math.max(index + 1, size);
+        if ((oldElement == null) != (element == null)) {
+            modCount++;
+        }
+        updateIndex(index, oldElement, element);
+    }
+
+    private Optional<E> removeAtLocked(final int index) {
+        size--;
+        return super.removeAt(index);
     }
 
     /**
-     * The VectorIterator class is an iterator over the elements in the Vector
-     * class.
+     * The VectorIterator class is a weakly consistent iterator over the
+     * elements in the Vector class. It reads through {@link Vector#get(int)},
+     * so iterating takes no lock unless a write happens concurrently, and it
+     * ignores the modification count.
      */
     private static class VectorIterator<E> implements Iterator<E> {
         /**
@@ -125,9 +293,9 @@ public class Vector<E> extends AbstractArray<E> {
         private int index;
 
         /**
-         * Constructs a new VectorIterator object with the specified capacity.
+         * Constructs a new VectorIterator object over the specified Vector.
          *
-         * @param capacity the capacity of the Vector
+         * @param vector the Vector to iterate over
          */
         public VectorIterator(Vector<E> vector) {
             this.vector = vector;
@@ -139,8 +307,8 @@ public class Vector<E> extends AbstractArray<E> {
          * otherwise
          */
         @Override
-        public synchronized boolean hasNext() {
-            return index != vector.size();
+        public boolean hasNext() {
+            return index < vector.size();
         }
 
         /**
@@ -152,7 +320,7 @@ public class Vector<E> extends AbstractArray<E> {
          *                                iterate over
          */
         @Override
-        public synchronized E next() {
+        public E next() {
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
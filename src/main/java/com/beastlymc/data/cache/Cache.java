@@ -0,0 +1,607 @@
+package com.beastlymc.data.cache;
+
+import com.beastlymc.data.common.Footprint;
+import com.beastlymc.data.common.Map;
+import com.beastlymc.data.hash.HashMap;
+
+import java.util.function.BiConsumer;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A bounded cache implementation of the Map interface. Once the total weight
+ * of its entries exceeds the maximum weight, entries are evicted in O(1)
+ * according to the eviction {@link Policy} of the cache.
+ * <p>
+ * Unless a weigher is provided every entry weighs 1, so the maximum weight is
+ * simply the maximum amount of entries. The cache counts hits and misses of
+ * {@link #get(Object)} and evictions, and notifies an optional listener of
+ * every evicted entry. Null keys are not permitted.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @param <K> the type of keys in the cache
+ * @param <V> the type of values in the cache
+ */
+public class Cache<K, V> implements Map<K, V> {
+
+    /**
+     * The eviction policy of a cache.
+     */
+    public enum Policy {
+        /**
+         * Evicts the least recently used entry.
+         */
+        LRU,
+
+        /**
+         * Keeps new entries in a small LRU window and only admits them into
+         * the main segmented LRU if they have been accessed more often than
+         * the entry they would replace, as estimated by a count-min sketch.
+         * Protects the cache from being flushed by one-off accesses.
+         */
+        W_TINY_LFU
+    }
+
+    /**
+     * The share of the maximum weight given to the admission window.
+     */
+    private static final double WINDOW_RATIO = 0.01;
+
+    /**
+     * The share of the main space given to the protected segment.
+     */
+    private static final double PROTECTED_RATIO = 0.8;
+
+    /**
+     * The entries of the cache by key.
+     */
+    private final HashMap<K, Node<K, V>> data;
+
+    /**
+     * The eviction policy of the cache.
+     */
+    private final Policy policy;
+
+    /**
+     * The function computing the weight of an entry, or null if every entry
+     * weighs 1.
+     */
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+
+    /**
+     * The maximum total weight of the cache.
+     */
+    private final long maximumWeight;
+
+    /**
+     * The maximum weight of the admission window.
+     */
+    private final long maximumWindowWeight;
+
+    /**
+     * The maximum weight of the protected segment.
+     */
+    private final long maximumProtectedWeight;
+
+    /**
+     * The access frequencies of keys, or null for the LRU policy.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * The entries in the admission window, or all entries for the LRU policy.
+     */
+    private final AccessOrder<K, V> window;
+
+    /**
+     * The entries of the main space that have been accessed once.
+     */
+    private final AccessOrder<K, V> probation;
+
+    /**
+     * The entries of the main space that have been accessed repeatedly.
+     */
+    private final AccessOrder<K, V> protectedSegment;
+
+    /**
+     * The listener notified of evicted entries, or null.
+     */
+    private BiConsumer<? super K, ? super V> evictionListener;
+
+    private long weight;
+    private long windowWeight;
+    private long protectedWeight;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructs a Cache with a maximum weight, a weigher and an eviction
+     * policy.
+     *
+     * @param maximumWeight the maximum total weight of the entries
+     * @param weigher       the function computing the weight of an entry, or
+     *                      null if every entry weighs 1
+     * @param policy        the eviction policy
+     *
+     * @throws IllegalArgumentException if the maximum weight is negative
+     */
+    public Cache(final long maximumWeight, final ToIntBiFunction<? super K, ? super V> weigher, final Policy policy) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Illegal maximum weight: " + maximumWeight);
+        }
+        if (policy == null) {
+            throw new NullPointerException("policy");
+        }
+
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.policy = policy;
+        this.data = new HashMap<>();
+        this.window = new AccessOrder<>();
+        this.probation = new AccessOrder<>();
+        this.protectedSegment = new AccessOrder<>();
+
+        if (policy == Policy.W_TINY_LFU) {
+            maximumWindowWeight = Math.max(1, (long) (maximumWeight * WINDOW_RATIO));
+            maximumProtectedWeight = (long) ((maximumWeight - maximumWindowWeight) * PROTECTED_RATIO);
+            sketch = new FrequencySketch(maximumWeight);
+        } else {
+            maximumWindowWeight = maximumWeight;
+            maximumProtectedWeight = 0;
+            sketch = null;
+        }
+    }
+
+    /**
+     * Constructs a Cache holding at most the specified amount of entries.
+     *
+     * @param maximumSize the maximum amount of entries
+     * @param policy      the eviction policy
+     */
+    public Cache(final long maximumSize, final Policy policy) {
+        this(maximumSize, null, policy);
+    }
+
+    /**
+     * Constructs an LRU Cache holding at most the specified amount of
+     * entries.
+     *
+     * @param maximumSize the maximum amount of entries
+     */
+    public Cache(final long maximumSize) {
+        this(maximumSize, Policy.LRU);
+    }
+
+    /**
+     * Associates the specified value with the specified key in this cache and
+     * evicts entries if the cache is over its maximum weight.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     *
+     * @return the previous value associated with the key, or null if there was
+     * no mapping for the key
+     */
+    @Override
+    public V put(final K key, final V value) {
+        int entryWeight = weigh(key, value);
+        Node<K, V> node = data.get(key);
+
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+
+        if (node != null) {
+            V oldValue = node.value;
+            node.value = value;
+            adjustWeight(node, entryWeight - node.weight);
+            onAccess(node);
+            evict();
+            return oldValue;
+        }
+
+        node = new Node<>(key, value, entryWeight);
+        data.put(key, node);
+        window.addLast(node);
+        node.region = Region.WINDOW;
+        weight += entryWeight;
+        windowWeight += entryWeight;
+
+        evict();
+        return null;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped and records a hit
+     * or a miss.
+     *
+     * @param key the key whose associated value is to be returned
+     *
+     * @return the value to which the specified key is mapped, or null if this
+     * cache contains no mapping for the key
+     */
+    @Override
+    public V get(final K key) {
+        Node<K, V> node = data.get(key);
+
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        onAccess(node);
+        return node.value;
+    }
+
+    @Override
+    public V remove(final K key) {
+        Node<K, V> node = data.remove(key);
+        if (node == null) {
+            return null;
+        }
+
+        unlink(node);
+        return node.value;
+    }
+
+    /**
+     * Returns true if this cache contains a mapping for the specified key. This
+     * neither counts as an access nor as a hit or miss.
+     *
+     * @param key the key whose presence in this cache is to be tested
+     *
+     * @return true if this cache contains a mapping for the specified key,
+     * false otherwise
+     */
+    @Override
+    public boolean containsKey(final K key) {
+        return data.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * Performs the given action for each entry of this cache. This neither
+     * counts as an access nor as a hit or miss.
+     *
+     * @param action the action to be performed for each entry
+     */
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        data.forEach((key, node) -> action.accept(key, node.value));
+    }
+
+    /**
+     * Removes all entries from this cache without notifying the eviction
+     * listener. The statistics are kept.
+     */
+    @Override
+    public void clear() {
+        data.clear();
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+        weight = 0;
+        windowWeight = 0;
+        protectedWeight = 0;
+    }
+
+    /**
+     * Estimates the memory used by this cache, including its hash map, its
+     * access order nodes and its frequency sketch. Capacity, empty slots and
+     * the longest probe sequence are those of the underlying hash map.
+     *
+     * @return the memory footprint of this cache
+     */
+    @Override
+    public Footprint footprint() {
+        Footprint dataFootprint = data.footprint();
+        long shallow = Footprint.objectBytes(8, 9 * Long.BYTES);
+        long retained = shallow + dataFootprint.getRetainedBytes() +
+                        data.size() * Footprint.objectBytes(5, Integer.BYTES) +
+                        3 * Footprint.objectBytes(2, 0);
+        if (sketch != null) {
+            retained += Footprint.objectBytes(1, 3 * Integer.BYTES) + sketch.tableBytes();
+        }
+
+        return new Footprint(shallow, retained, dataFootprint.getCapacity(), size(),
+                             dataFootprint.getEmptySlots(), dataFootprint.getLongestProbe());
+    }
+
+    /**
+     * Sets the listener that is notified with the key and value of every
+     * evicted entry.
+     *
+     * @param evictionListener the listener, or null to remove it
+     */
+    public void setEvictionListener(final BiConsumer<? super K, ? super V> evictionListener) {
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * @return the eviction policy of this cache
+     */
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @return the maximum total weight of this cache
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * @return the current total weight of the entries in this cache
+     */
+    public long weight() {
+        return weight;
+    }
+
+    /**
+     * @return the number of lookups that found an entry
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of lookups that did not find an entry
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of entries evicted because of the maximum weight
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the share of lookups that found an entry.
+     *
+     * @return the hit rate between 0 and 1, or 1 if there were no lookups
+     */
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0
+               ? 1.0
+               : (double) hitCount / requests;
+    }
+
+    /**
+     * Resets the hit, miss and eviction counters.
+     */
+    public void resetStats() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    private int weigh(final K key, final V value) {
+        if (weigher == null) {
+            return 1;
+        }
+
+        int entryWeight = weigher.applyAsInt(key, value);
+        if (entryWeight < 0) {
+            throw new IllegalArgumentException("Illegal weight: " + entryWeight);
+        }
+        return entryWeight;
+    }
+
+    private void adjustWeight(final Node<K, V> node, final int delta) {
+        node.weight += delta;
+        weight += delta;
+        if (node.region == Region.WINDOW) {
+            windowWeight += delta;
+        } else if (node.region == Region.PROTECTED) {
+            protectedWeight += delta;
+        }
+    }
+
+    /**
+     * Moves the accessed entry to the most recently used end of its segment,
+     * promoting probation entries to the protected segment.
+     *
+     * @param node the accessed entry
+     */
+    private void onAccess(final Node<K, V> node) {
+        switch (node.region) {
+            case WINDOW -> window.moveToLast(node);
+            case PROTECTED -> protectedSegment.moveToLast(node);
+            case PROBATION -> {
+                probation.remove(node);
+                protectedSegment.addLast(node);
+                node.region = Region.PROTECTED;
+                protectedWeight += node.weight;
+
+                while (protectedWeight > maximumProtectedWeight && protectedSegment.head != node) {
+                    Node<K, V> demoted = protectedSegment.removeFirst();
+                    probation.addLast(demoted);
+                    demoted.region = Region.PROBATION;
+                    protectedWeight -= demoted.weight;
+                }
+            }
+        }
+    }
+
+    /**
+     * Evicts entries until the cache is within its maximum weight. With the
+     * W-TinyLFU policy, entries leaving the window compete with the least
+     * recently used probation entry and the less frequently used one is
+     * evicted.
+     */
+    private void evict() {
+        if (sketch == null) {
+            while (weight > maximumWeight && window.head != null) {
+                evictEntry(window.head);
+            }
+            return;
+        }
+
+        Node<K, V> candidate = null;
+        while (windowWeight > maximumWindowWeight && window.head != null) {
+            Node<K, V> moved = window.removeFirst();
+            probation.addLast(moved);
+            moved.region = Region.PROBATION;
+            windowWeight -= moved.weight;
+            if (candidate == null) {
+                candidate = moved;
+            }
+        }
+
+        while (weight > maximumWeight) {
+            Node<K, V> victim = probation.head != null
+                                ? probation.head
+                                : protectedSegment.head != null
+                                  ? protectedSegment.head
+                                  : window.head;
+
+            if (candidate == null || candidate == victim) {
+                if (candidate == victim) {
+                    candidate = candidate.next;
+                }
+                evictEntry(victim);
+            } else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                evictEntry(victim);
+            } else {
+                Node<K, V> next = candidate.next;
+                evictEntry(candidate);
+                candidate = next;
+            }
+        }
+    }
+
+    private void evictEntry(final Node<K, V> node) {
+        data.remove(node.key);
+        unlink(node);
+        evictionCount++;
+
+        if (evictionListener != null) {
+            evictionListener.accept(node.key, node.value);
+        }
+    }
+
+    private void unlink(final Node<K, V> node) {
+        switch (node.region) {
+            case WINDOW -> {
+                window.remove(node);
+                windowWeight -= node.weight;
+            }
+            case PROBATION -> probation.remove(node);
+            case PROTECTED -> {
+                protectedSegment.remove(node);
+                protectedWeight -= node.weight;
+            }
+        }
+        weight -= node.weight;
+    }
+
+    /**
+     * @return a string representation of this cache
+     */
+    @Override
+    public String toString() {
+        return "Cache{" + "policy=" + policy + ", size=" + size() + ", weight=" + weight +
+               ", maximumWeight=" + maximumWeight + ", hits=" + hitCount + ", misses=" + missCount +
+               ", evictions=" + evictionCount + '}';
+    }
+
+    /**
+     * The segment of the cache an entry currently lives in.
+     */
+    private enum Region {
+        WINDOW, PROBATION, PROTECTED
+    }
+
+    /**
+     * An entry of the cache, linked into the access order of its segment.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        int weight;
+        Region region;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(final K key, final V value, final int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * An intrusive doubly linked list of entries from the least to the most
+     * recently used one.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class AccessOrder<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+
+        void addLast(final Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+
+        Node<K, V> removeFirst() {
+            Node<K, V> node = head;
+            remove(node);
+            return node;
+        }
+
+        void remove(final Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToLast(final Node<K, V> node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+        }
+    }
+}
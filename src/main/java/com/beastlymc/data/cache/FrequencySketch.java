@@ -0,0 +1,162 @@
+package com.beastlymc.data.cache;
+
+import com.beastlymc.data.common.Footprint;
+
+/**
+ * A count-min sketch estimating how often a key has been accessed, used by
+ * the W-TinyLFU admission policy of {@link Cache}.
+ * <p>
+ * Every key is counted in four 4-bit counters, one per hash function. Each
+ * hash function picks its own {@code long} of the table independently, and
+ * the key's hash picks one of four groups of counters within that long, so an
+ * estimate reads up to four different longs, which usually lie on different
+ * cache lines. To let the sketch follow a changing workload all counters are
+ * halved once the amount of recorded accesses reaches ten times the maximum
+ * size of the cache.
+ */
+final class FrequencySketch {
+
+    /**
+     * The seeds of the four hash functions.
+     */
+    private static final long[] SEEDS = {
+            0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L,
+            0x9AE16A3B2F90404FL, 0xCBF29CE484222325L
+    };
+
+    /**
+     * Masks every counter down to its lower three bits after a halving shift.
+     */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /**
+     * The largest value a 4-bit counter can hold.
+     */
+    private static final int MAXIMUM_COUNT = 15;
+
+    /**
+     * The counters, sixteen per long.
+     */
+    private final long[] table;
+
+    /**
+     * The mask used to turn a hash into a table index.
+     */
+    private final int tableMask;
+
+    /**
+     * The amount of increments after which all counters are halved.
+     */
+    private final int sampleSize;
+
+    /**
+     * The amount of increments since the last reset.
+     */
+    private int size;
+
+    /**
+     * Constructs a FrequencySketch for a cache of the specified maximum size.
+     *
+     * @param maximumSize the maximum amount of entries the cache holds
+     */
+    FrequencySketch(final long maximumSize) {
+        int capacity = (int) Math.min(Math.max(maximumSize, 8), 1 << 26);
+        int length = Integer.highestOneBit(capacity - 1) << 1;
+
+        table = new long[length];
+        tableMask = length - 1;
+        sampleSize = 10 * capacity;
+    }
+
+    /**
+     * Returns the estimated amount of accesses to the specified key, capped
+     * at 15.
+     *
+     * @param key the key to estimate
+     *
+     * @return the estimated frequency of the key
+     */
+    int frequency(final Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+
+        int frequency = MAXIMUM_COUNT;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xF);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access to the specified key.
+     *
+     * @param key the key that has been accessed
+     */
+    void increment(final Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Increments the counter at the specified position unless it is already
+     * at its maximum.
+     *
+     * @param index   the index of the long holding the counter
+     * @param counter the position of the counter within the long
+     *
+     * @return true if the counter was incremented, false otherwise
+     */
+    private boolean incrementAt(final int index, final int counter) {
+        int offset = counter << 2;
+        long mask = 0xFL << offset;
+
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Halves every counter so old accesses weigh less than recent ones.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size >>>= 1;
+    }
+
+    /**
+     * @return the estimated size of the counter table in bytes
+     */
+    long tableBytes() {
+        return Footprint.arrayBytes(table.length, Long.BYTES);
+    }
+
+    private int indexOf(final int hash, final int depth) {
+        long h = (hash + SEEDS[depth]) * SEEDS[depth];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 17;
+        h *= 0xED5AD4BB;
+        h ^= h >>> 11;
+        h *= 0xAC4C1B51;
+        h ^= h >>> 15;
+        return h;
+    }
+}
@@ -1,13 +1,17 @@
 package com.beastlymc.data.common;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The Collection interface represents a group of elements.
  *
  * @param <E> the type of elements in this collection
  */
-public interface Collection<E> extends Iterable<E> {
+public interface Collection<E> extends Iterable<E>, MemoryFootprint {
 
     /**
      * Returns the number of elements in this collection
@@ -45,4 +49,37 @@ public interface Collection<E> extends Iterable<E> {
      */
     @Override
     Iterator<E> iterator();
+
+    /**
+     * Returns a spliterator over the elements in this collection. The default
+     * implementation wraps {@link #iterator()} and reports the current size,
+     * so streams know their length up front; collections that can split
+     * their storage directly override it.
+     *
+     * @return a spliterator over the elements in this collection
+     */
+    @Override
+    default Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a sequential {@link Stream} over the elements in this
+     * collection.
+     *
+     * @return a sequential stream over the elements in this collection
+     */
+    default Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel {@link Stream} over the elements in this collection.
+     * How well it scales depends on how evenly {@link #spliterator()} splits.
+     *
+     * @return a parallel stream over the elements in this collection
+     */
+    default Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
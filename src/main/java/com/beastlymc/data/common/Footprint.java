@@ -0,0 +1,166 @@
+package com.beastlymc.data.common;
+
+/**
+ * An estimate of the memory used by a data structure, as reported by
+ * {@link MemoryFootprint#footprint()}.
+ * <p>
+ * The shallow size only covers the object of the data structure itself. The
+ * retained size also covers every array and node the data structure owns, but
+ * not the elements it stores, as those may be shared with other objects.
+ * Sizes are estimated for a 64-bit JVM with compressed references: a 12 byte
+ * object header, a 16 byte array header, 4 byte references and objects
+ * aligned to 8 bytes.
+ */
+public final class Footprint {
+
+    /**
+     * The estimated size of an object header.
+     */
+    public static final int OBJECT_HEADER_BYTES = 12;
+
+    /**
+     * The estimated size of an array header, including its length.
+     */
+    public static final int ARRAY_HEADER_BYTES = 16;
+
+    /**
+     * The estimated size of a reference.
+     */
+    public static final int REFERENCE_BYTES = 4;
+
+    /**
+     * The alignment of objects on the heap.
+     */
+    public static final int OBJECT_ALIGNMENT = 8;
+
+    private final long shallowBytes;
+    private final long retainedBytes;
+    private final long capacity;
+    private final long size;
+    private final long emptySlots;
+    private final int longestProbe;
+
+    /**
+     * Constructs a new Footprint.
+     *
+     * @param shallowBytes  the estimated size of the data structure object
+     * @param retainedBytes the estimated size of the data structure and the
+     *                      arrays and nodes it owns
+     * @param capacity      the amount of elements the data structure can hold
+     *                      without allocating
+     * @param size          the amount of elements in the data structure
+     * @param emptySlots    the amount of allocated slots holding no element
+     * @param longestProbe  the length of the longest hash chain or probe
+     *                      sequence, or 0 if the data structure does not hash
+     */
+    public Footprint(final long shallowBytes, final long retainedBytes, final long capacity, final long size,
+                     final long emptySlots, final int longestProbe) {
+        this.shallowBytes = shallowBytes;
+        this.retainedBytes = retainedBytes;
+        this.capacity = capacity;
+        this.size = size;
+        this.emptySlots = emptySlots;
+        this.longestProbe = longestProbe;
+    }
+
+    /**
+     * @return the estimated size of the data structure object in bytes
+     */
+    public long getShallowBytes() {
+        return shallowBytes;
+    }
+
+    /**
+     * @return the estimated size of the data structure and the arrays and
+     * nodes it owns in bytes
+     */
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    /**
+     * @return the amount of elements the data structure can hold without
+     * allocating
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the amount of elements in the data structure
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the amount of allocated slots holding no element
+     */
+    public long getEmptySlots() {
+        return emptySlots;
+    }
+
+    /**
+     * Returns the ratio of elements to capacity.
+     *
+     * @return the load factor, or 0 if the capacity is 0
+     */
+    public double getLoadFactor() {
+        return capacity == 0
+               ? 0
+               : (double) size / capacity;
+    }
+
+    /**
+     * @return the length of the longest hash chain or probe sequence, or 0 if
+     * the data structure does not hash
+     */
+    public int getLongestProbe() {
+        return longestProbe;
+    }
+
+    /**
+     * Estimates the size of an object with the specified fields.
+     *
+     * @param references     the amount of reference fields
+     * @param primitiveBytes the total size of the primitive fields
+     *
+     * @return the aligned size of the object in bytes
+     */
+    public static long objectBytes(final int references, final int primitiveBytes) {
+        return align(OBJECT_HEADER_BYTES + (long) references * REFERENCE_BYTES + primitiveBytes);
+    }
+
+    /**
+     * Estimates the size of an array.
+     *
+     * @param length       the length of the array
+     * @param elementBytes the size of a single element, {@link #REFERENCE_BYTES}
+     *                     for object arrays
+     *
+     * @return the aligned size of the array in bytes
+     */
+    public static long arrayBytes(final long length, final int elementBytes) {
+        return align(ARRAY_HEADER_BYTES + length * elementBytes);
+    }
+
+    /**
+     * Rounds the specified size up to the object alignment.
+     *
+     * @param bytes the unaligned size
+     *
+     * @return the aligned size
+     */
+    public static long align(final long bytes) {
+        return (bytes + OBJECT_ALIGNMENT - 1) & -OBJECT_ALIGNMENT;
+    }
+
+    /**
+     * @return a string representation of this footprint
+     */
+    @Override
+    public String toString() {
+        return String.format("Footprint(shallow=%d, retained=%d, capacity=%d, size=%d, empty=%d, load=%.2f, longestProbe=%d)",
+                             shallowBytes, retainedBytes, capacity, size, emptySlots, getLoadFactor(), longestProbe);
+    }
+}
@@ -0,0 +1,89 @@
+package com.beastlymc.data.common;
+
+/**
+ * A ListCursor walks the elements of a list in either direction and modifies
+ * the list at its position in constant time. It starts before the first
+ * element; {@link #advance()} moves it to the next element and
+ * {@link #retreat()} to the previous one.
+ * <p>
+ * After {@link #remove()} the cursor sits in the gap the element left, so
+ * the following {@link #advance()} or {@link #retreat()} moves to the
+ * neighbour of the removed element. The list must not be modified other than
+ * through the cursor while it is being walked.
+ *
+ * @param <E> the type of elements in the list
+ */
+public interface ListCursor<E> {
+
+    /**
+     * Moves this cursor to the next element.
+     *
+     * @return true if the cursor is positioned on an element, false if it has
+     * moved past the last element
+     */
+    boolean advance();
+
+    /**
+     * Moves this cursor to the previous element.
+     *
+     * @return true if the cursor is positioned on an element, false if it has
+     * moved before the first element
+     */
+    boolean retreat();
+
+    /**
+     * Returns the element this cursor is positioned on.
+     *
+     * @return the current element
+     *
+     * @throws IllegalStateException if the cursor is not positioned on an
+     *                               element
+     */
+    E get();
+
+    /**
+     * Replaces the element this cursor is positioned on.
+     *
+     * @param element the element to store
+     *
+     * @return the element previously stored
+     *
+     * @throws IllegalStateException if the cursor is not positioned on an
+     *                               element
+     */
+    E set(final E element);
+
+    /**
+     * Removes the element this cursor is positioned on, leaving the cursor in
+     * the gap between its neighbours.
+     *
+     * @return the removed element
+     *
+     * @throws IllegalStateException if the cursor is not positioned on an
+     *                               element
+     */
+    E remove();
+
+    /**
+     * Inserts the specified element before the element this cursor is
+     * positioned on. The cursor stays on its element.
+     *
+     * @param element the element to insert
+     *
+     * @throws IllegalStateException if the cursor is not positioned on an
+     *                               element
+     */
+    void addBefore(final E element);
+
+    /**
+     * Inserts the specified element after the element this cursor is
+     * positioned on. The cursor stays on its element, so the next call to
+     * {@link #advance()} moves to the inserted element.
+     *
+     * @param element the element to insert
+     *
+     * @throws IllegalStateException if the cursor is not positioned on an
+     *                               element
+     */
+    void addAfter(final E element);
+}
@@ -1,5 +1,9 @@
 package com.beastlymc.data.common;
 
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 /**
  * An object that maps keys to values. A map cannot contain duplicate keys; each
  * key can map to at most one value.
@@ -7,7 +11,7 @@ package com.beastlymc.data.common;
  * @param <K> the type of keys maintained by this map
  * @param <V> the type of mapped values
  */
-public interface Map<K, V> {
+public interface Map<K, V> extends MemoryFootprint {
     /**
      * Associates the specified value with the specified key in this
      * collection.
@@ -65,6 +69,213 @@ public interface Map<K, V> {
      */
     void clear();
 
+    /**
+     * Performs the given action for each key-value mapping in this collection.
+     * The order of the mappings is unspecified, and the collection must not be
+     * modified by the action.
+     *
+     * @param action the action to be performed for each mapping
+     */
+    void forEach(final BiConsumer<? super K, ? super V> action);
+
+    /**
+     * Copies all mappings of the specified map into this collection.
+     *
+     * @param map the mappings to be stored in this collection
+     */
+    default void putAll(final Map<? extends K, ? extends V> map) {
+        map.forEach(this::put);
+    }
+
+    /**
+     * Associates every key of the first array with the value at the same
+     * index of the second array.
+     *
+     * @param keys   the keys with which the values are to be associated
+     * @param values the values to be associated with the keys
+     *
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    default void putAll(final K[] keys, final V[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Expected as many values as keys, got " + keys.length +
+                                               " keys and " + values.length + " values");
+        }
+        for (int i = 0; i < keys.length; i++) {
+            put(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Looks up every specified key and performs the given action for those
+     * that are contained in this collection.
+     *
+     * @param keys   the keys whose values are to be looked up
+     * @param action the action to be performed with every key that has a
+     *               mapping and its value
+     */
+    default void getAll(final Iterable<? extends K> keys, final BiConsumer<? super K, ? super V> action) {
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null || containsKey(key)) {
+                action.accept(key, value);
+            }
+        }
+    }
+
+    /**
+     * Removes the mappings of all specified keys from this collection.
+     *
+     * @param keys the keys whose mappings are to be removed
+     *
+     * @return the number of mappings that were removed
+     */
+    default int removeAll(final Iterable<? extends K> keys) {
+        int removed = 0;
+        for (K key : keys) {
+            if (containsKey(key)) {
+                remove(key);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or the specified
+     * default value if this collection contains no mapping for the key.
+     *
+     * @param key          the key whose associated value is to be returned
+     * @param defaultValue the value to return if the key has no mapping
+     *
+     * @return the value to which the specified key is mapped, or the default
+     * value if this collection contains no mapping for the key
+     */
+    default V getOrDefault(final K key, final V defaultValue) {
+        V value = get(key);
+        return value != null || containsKey(key)
+               ? value
+               : defaultValue;
+    }
+
+    /**
+     * Computes a value for the specified key with the given function if the
+     * key has no mapping or is mapped to null, and stores it unless it is
+     * null.
+     * <p>
+     * The default implementation is neither atomic nor faster than calling
+     * {@link #get(Object)} and {@link #put(Object, Object)}. Implementations
+     * override it to look up the key only once, and concurrent
+     * implementations to apply the function atomically. The function must not
+     * modify this collection.
+     *
+     * @param key             the key whose value is to be computed
+     * @param mappingFunction the function computing the value
+     *
+     * @return the current value of the key, or null if there is none
+     */
+    default V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Computes a new value for the specified key with the given function if
+     * the key is mapped to a non-null value. The mapping is removed if the new
+     * value is null.
+     * <p>
+     * The default implementation is not atomic, see
+     * {@link #computeIfAbsent(Object, Function)}.
+     *
+     * @param key               the key whose value is to be computed
+     * @param remappingFunction the function computing the new value from the
+     *                          key and its current value
+     *
+     * @return the new value of the key, or null if there is none
+     */
+    default V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V oldValue = get(key);
+        if (oldValue == null) {
+            return null;
+        }
+
+        V value = remappingFunction.apply(key, oldValue);
+        if (value == null) {
+            remove(key);
+        } else {
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Computes a new value for the specified key with the given function,
+     * passing null as the current value if the key has no mapping. The
+     * mapping is removed if the new value is null.
+     * <p>
+     * The default implementation is not atomic, see
+     * {@link #computeIfAbsent(Object, Function)}.
+     *
+     * @param key               the key whose value is to be computed
+     * @param remappingFunction the function computing the new value from the
+     *                          key and its current value
+     *
+     * @return the new value of the key, or null if there is none
+     */
+    default V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        V oldValue = get(key);
+        V value = remappingFunction.apply(key, oldValue);
+
+        if (value != null) {
+            put(key, value);
+        } else if (oldValue != null || containsKey(key)) {
+            remove(key);
+        }
+        return value;
+    }
+
+    /**
+     * Associates the specified value with the specified key if the key has no
+     * mapping or is mapped to null. Otherwise the current value is replaced
+     * by the result of the given function, or removed if that result is null.
+     * This is the usual way to maintain counters and aggregates.
+     * <p>
+     * The default implementation is not atomic, see
+     * {@link #computeIfAbsent(Object, Function)}.
+     *
+     * @param key               the key whose value is to be merged
+     * @param value             the value to store if the key has no value
+     * @param remappingFunction the function combining the current and the
+     *                          specified value
+     *
+     * @return the new value of the key, or null if there is none
+     *
+     * @throws NullPointerException if the value is null
+     */
+    default V merge(final K key, final V value, final BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+
+        V oldValue = get(key);
+        V newValue = oldValue == null
+                     ? value
+                     : remappingFunction.apply(oldValue, value);
+
+        if (newValue == null) {
+            remove(key);
+        } else {
+            put(key, newValue);
+        }
+        return newValue;
+    }
+
     /**
      * Checks if this collection contains no key-value mappings
      *
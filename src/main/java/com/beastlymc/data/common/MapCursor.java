@@ -0,0 +1,43 @@
+package com.beastlymc.data.common;
+
+/**
+ * A MapCursor walks the mappings of a map without creating an object per
+ * mapping. It starts before the first mapping; every call to
+ * {@link #advance()} moves it to the next one, whose key and value can then be
+ * read with {@link #key()} and {@link #value()}.
+ * <p>
+ * The map must not be modified while it is being walked by a cursor.
+ *
+ * @param <K> the type of keys maintained by the map
+ * @param <V> the type of mapped values
+ */
+public interface MapCursor<K, V> {
+
+    /**
+     * Moves this cursor to the next mapping.
+     *
+     * @return true if the cursor is positioned on a mapping, false if there
+     * are no more mappings
+     */
+    boolean advance();
+
+    /**
+     * Returns the key of the mapping this cursor is positioned on.
+     *
+     * @return the key of the current mapping
+     *
+     * @throws IllegalStateException if the cursor is not positioned on a
+     *                               mapping
+     */
+    K key();
+
+    /**
+     * Returns the value of the mapping this cursor is positioned on.
+     *
+     * @return the value of the current mapping
+     *
+     * @throws IllegalStateException if the cursor is not positioned on a
+     *                               mapping
+     */
+    V value();
+}
@@ -0,0 +1,16 @@
+package com.beastlymc.data.common;
+
+/**
+ * The MemoryFootprint interface represents a data structure that can estimate
+ * how much heap memory it occupies and how well its storage is used.
+ */
+public interface MemoryFootprint {
+
+    /**
+     * Estimates the memory footprint of this data structure. The estimate is
+     * computed on every call and may walk the whole structure.
+     *
+     * @return a {@link Footprint} describing the current memory usage
+     */
+    Footprint footprint();
+}
@@ -0,0 +1,590 @@
+package com.beastlymc.data.hash;
+
+import com.beastlymc.data.common.Footprint;
+import com.beastlymc.data.common.Map;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A thread-safe hash map implementation of the Map interface using lock
+ * striping.
+ * <p>
+ * The table is split into a fixed number of segments, each guarded by its own
+ * lock, so writers only contend when their keys fall into the same segment.
+ * Reads never lock: every segment publishes its bins through volatile reads
+ * and writes, and a reader either sees a complete node or does not see it at
+ * all. Each segment resizes on its own while the other segments stay
+ * available to readers and writers.
+ * <p>
+ * Neither null keys nor null values are permitted.
+ *
+ * @param <K> the type of keys in the map
+ * @param <V> the type of values in the map
+ */
+public class ConcurrentHashMap<K, V> implements Map<K, V> {
+
+    /**
+     * The default initial capacity of the hash map.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The default amount of segments, and therefore concurrent writers.
+     */
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /**
+     * The largest amount of segments that can be requested.
+     */
+    private static final int MAXIMUM_SEGMENTS = 1 << 16;
+
+    /**
+     * The smallest table length of a single segment.
+     */
+    private static final int MINIMUM_SEGMENT_CAPACITY = 2;
+
+    /**
+     * The load factor threshold at which a segment should be resized.
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * The segments of the map, selected by the high bits of a hash.
+     */
+    private final Segment<K, V>[] segments;
+
+    /**
+     * The shift that moves the segment bits of a hash into the low bits.
+     */
+    private final int segmentShift;
+
+    /**
+     * The mask used to turn the shifted hash into a segment index.
+     */
+    private final int segmentMask;
+
+    /**
+     * Constructs a ConcurrentHashMap with a given capacity and concurrency
+     * level.
+     *
+     * @param initialCapacity  the initial capacity of the hash map
+     * @param concurrencyLevel the expected amount of concurrently writing
+     *                         threads
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ConcurrentHashMap(final int initialCapacity, final int concurrencyLevel) {
+        if (initialCapacity < 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        int segmentCount = 1;
+        int shift = 0;
+        while (segmentCount < Math.min(concurrencyLevel, MAXIMUM_SEGMENTS)) {
+            segmentCount <<= 1;
+            shift++;
+        }
+
+        segmentShift = 32 - shift;
+        segmentMask = segmentCount - 1;
+
+        int segmentCapacity = MINIMUM_SEGMENT_CAPACITY;
+        while (segmentCapacity * segmentCount < initialCapacity) {
+            segmentCapacity <<= 1;
+        }
+
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentCapacity);
+        }
+    }
+
+    /**
+     * Constructs a ConcurrentHashMap with a given capacity
+     *
+     * @param initialCapacity the initial capacity of the hash map
+     */
+    public ConcurrentHashMap(final int initialCapacity) {
+        this(initialCapacity, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs a ConcurrentHashMap with the default capacity of 16
+     */
+    public ConcurrentHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Associates the specified value with the specified key in this
+     * collection.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     *
+     * @return the previous value associated with the key, or null if there was
+     * no mapping for the key
+     *
+     * @throws NullPointerException if the key or value is null
+     */
+    @Override
+    public V put(final K key, final V value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        int hash = hash(key);
+        return segmentFor(hash).put(key, hash, value);
+    }
+
+    @Override
+    public V get(final K key) {
+        int hash = hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    @Override
+    public V remove(final K key) {
+        int hash = hash(key);
+        return segmentFor(hash).remove(key, hash);
+    }
+
+    @Override
+    public boolean containsKey(final K key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V getOrDefault(final K key, final V defaultValue) {
+        V value = get(key);
+        return value == null
+               ? defaultValue
+               : value;
+    }
+
+    /**
+     * Atomically computes and stores a value for the specified key if it has
+     * no mapping. Present keys are returned without locking. The function is
+     * called while the segment of the key is locked, so it should be short
+     * and must not modify this map.
+     *
+     * @param key             the key whose value is to be computed
+     * @param mappingFunction the function computing the value
+     *
+     * @return the current value of the key, or null if there is none
+     */
+    @Override
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        int hash = hash(key);
+        Segment<K, V> segment = segmentFor(hash);
+
+        V value = segment.get(key, hash);
+        if (value != null) {
+            return value;
+        }
+        return segment.compute(key, hash, (k, oldValue) -> oldValue != null
+                                                           ? oldValue
+                                                           : mappingFunction.apply(k));
+    }
+
+    /**
+     * Atomically computes a new value for the specified key if it has a
+     * mapping, removing the mapping if the new value is null. The function is
+     * called while the segment of the key is locked, so it should be short
+     * and must not modify this map.
+     *
+     * @param key               the key whose value is to be computed
+     * @param remappingFunction the function computing the new value from the
+     *                          key and its current value
+     *
+     * @return the new value of the key, or null if there is none
+     */
+    @Override
+    public V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int hash = hash(key);
+        return segmentFor(hash).compute(key, hash, (k, oldValue) -> oldValue == null
+                                                                    ? null
+                                                                    : remappingFunction.apply(k, oldValue));
+    }
+
+    /**
+     * Atomically computes a new value for the specified key, passing null as
+     * the current value if the key has no mapping. The mapping is removed if
+     * the new value is null. The function is called while the segment of the
+     * key is locked, so it should be short and must not modify this map.
+     *
+     * @param key               the key whose value is to be computed
+     * @param remappingFunction the function computing the new value from the
+     *                          key and its current value
+     *
+     * @return the new value of the key, or null if there is none
+     */
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        int hash = hash(key);
+        return segmentFor(hash).compute(key, hash, remappingFunction);
+    }
+
+    /**
+     * Atomically stores the specified value if the key has no mapping, or
+     * otherwise replaces the current value with the result of the given
+     * function, removing the mapping if that result is null. The function is
+     * called while the segment of the key is locked, so it should be short
+     * and must not modify this map.
+     *
+     * @param key               the key whose value is to be merged
+     * @param value             the value to store if the key has no mapping
+     * @param remappingFunction the function combining the current and the
+     *                          specified value
+     *
+     * @return the new value of the key, or null if there is none
+     *
+     * @throws NullPointerException if the value is null
+     */
+    @Override
+    public V merge(final K key, final V value, final BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        int hash = hash(key);
+        return segmentFor(hash).compute(key, hash, (k, oldValue) -> oldValue == null
+                                                                    ? value
+                                                                    : remappingFunction.apply(oldValue, value));
+    }
+
+    /**
+     * Performs the given action for each key-value mapping in this map without
+     * locking. The traversal is weakly consistent: it never throws because of
+     * concurrent modifications, but may or may not reflect mappings that are
+     * added or removed while it runs.
+     *
+     * @param action the action to be performed for each mapping
+     */
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        for (Segment<K, V> segment : segments) {
+            Node<K, V>[] table = segment.table;
+            for (int i = 0; i < table.length; i++) {
+                for (Node<K, V> node = Segment.binAt(table, i); node != null; node = node.next) {
+                    action.accept(node.key, node.value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of key-value mappings in this ConcurrentHashMap. The
+     * result is only exact if the map is not modified while it is computed.
+     *
+     * @return the number of key-value mappings in this ConcurrentHashMap
+     */
+    @Override
+    public int size() {
+        long sum = 0;
+        for (Segment<K, V> segment : segments) {
+            sum += segment.count;
+        }
+        return (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes all mappings from this ConcurrentHashMap, one segment at a
+     * time.
+     */
+    @Override
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Estimates the memory used by this map. Segments are inspected one after
+     * the other without locking, so the estimate is only exact if the map is
+     * not modified while it is computed.
+     *
+     * @return the memory footprint of this map
+     */
+    @Override
+    public Footprint footprint() {
+        long shallow = Footprint.objectBytes(1, 2 * Integer.BYTES);
+        long retained = shallow + Footprint.arrayBytes(segments.length, Footprint.REFERENCE_BYTES);
+        long capacity = 0;
+        long size = 0;
+        long emptySlots = 0;
+        int longestChain = 0;
+
+        for (Segment<K, V> segment : segments) {
+            Node<K, V>[] table = segment.table;
+            retained += Footprint.objectBytes(2, 2 * Integer.BYTES) + Footprint.objectBytes(3, Integer.BYTES) +
+                        Footprint.arrayBytes(table.length, Footprint.REFERENCE_BYTES);
+            capacity += table.length;
+
+            for (int i = 0; i < table.length; i++) {
+                int chain = 0;
+                for (Node<K, V> node = Segment.binAt(table, i); node != null; node = node.next) {
+                    chain++;
+                }
+                if (chain == 0) {
+                    emptySlots++;
+                }
+                size += chain;
+                longestChain = Math.max(longestChain, chain);
+            }
+        }
+
+        retained += size * Footprint.objectBytes(3, Integer.BYTES);
+        return new Footprint(shallow, retained, capacity, size, emptySlots, longestChain);
+    }
+
+    private Segment<K, V> segmentFor(final int hash) {
+        return segments[(hash >>> segmentShift) & segmentMask];
+    }
+
+    /**
+     * Computes the hash code of the specified key. The bits are mixed because
+     * the high bits select the segment and the low bits select the bin.
+     *
+     * @param key the key for which to compute the hash code
+     *
+     * @return the mixed hash code of the specified key
+     */
+    private static int hash(final Object key) {
+        return Hashing.mix(key.hashCode());
+    }
+
+    /**
+     * @return a string representation of this map
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        boolean isFirstEntry = true;
+        for (Segment<K, V> segment : segments) {
+            Node<K, V>[] table = segment.table;
+            for (int i = 0; i < table.length; i++) {
+                for (Node<K, V> node = Segment.binAt(table, i); node != null; node = node.next) {
+                    if (isFirstEntry) {
+                        isFirstEntry = false;
+                    } else {
+                        sb.append(", ");
+                    }
+                    sb.append(node.key);
+                    sb.append("=");
+                    sb.append(node.value);
+                }
+            }
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+     * An entry in the hash map. The key and hash never change, the value and
+     * the link to the next entry are published through volatile writes.
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static final class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(final int hash, final K key, final V value, final Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * A segment is a small chained hash table guarded by its own lock. Writers
+     * hold the lock, readers only rely on volatile reads of the bins.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    @SuppressWarnings("serial")
+    private static final class Segment<K, V> extends ReentrantLock {
+
+        private static final VarHandle BINS = MethodHandles.arrayElementVarHandle(Node[].class);
+
+        /**
+         * The bins of the segment, replaced as a whole on resize.
+         */
+        volatile Node<K, V>[] table;
+
+        /**
+         * The amount of elements in the segment, only written under the lock.
+         */
+        volatile int count;
+
+        /**
+         * The amount of elements at which the segment is resized.
+         */
+        private int threshold;
+
+        Segment(final int capacity) {
+            table = newTable(capacity);
+            threshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        V get(final Object key, final int hash) {
+            Node<K, V>[] tab = table;
+            for (Node<K, V> node = binAt(tab, hash & (tab.length - 1)); node != null; node = node.next) {
+                if (node.hash == hash && node.key.equals(key)) {
+                    return node.value;
+                }
+            }
+            return null;
+        }
+
+        V put(final K key, final int hash, final V value) {
+            lock();
+            try {
+                Node<K, V>[] tab = table;
+                int index = hash & (tab.length - 1);
+                Node<K, V> head = binAt(tab, index);
+
+                for (Node<K, V> node = head; node != null; node = node.next) {
+                    if (node.hash == hash && node.key.equals(key)) {
+                        V oldValue = node.value;
+                        node.value = value;
+                        return oldValue;
+                    }
+                }
+
+                insert(tab, index, head, key, hash, value);
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Replaces the value of the specified key with the result of the given
+         * function while holding the lock. A null result removes the mapping,
+         * and an absent key is passed to the function as a null value.
+         */
+        V compute(final K key, final int hash, final BiFunction<? super K, ? super V, ? extends V> function) {
+            lock();
+            try {
+                Node<K, V>[] tab = table;
+                int index = hash & (tab.length - 1);
+                Node<K, V> head = binAt(tab, index);
+                Node<K, V> prev = null;
+
+                for (Node<K, V> node = head; node != null; prev = node, node = node.next) {
+                    if (node.hash == hash && node.key.equals(key)) {
+                        V value = function.apply(key, node.value);
+                        if (value == null) {
+                            unlink(tab, index, prev, node);
+                        } else {
+                            node.value = value;
+                        }
+                        return value;
+                    }
+                }
+
+                V value = function.apply(key, null);
+                if (value != null) {
+                    insert(tab, index, head, key, hash, value);
+                }
+                return value;
+            } finally {
+                unlock();
+            }
+        }
+
+        V remove(final Object key, final int hash) {
+            lock();
+            try {
+                Node<K, V>[] tab = table;
+                int index = hash & (tab.length - 1);
+                Node<K, V> prev = null;
+
+                for (Node<K, V> node = binAt(tab, index); node != null; prev = node, node = node.next) {
+                    if (node.hash == hash && node.key.equals(key)) {
+                        unlink(tab, index, prev, node);
+                        return node.value;
+                    }
+                }
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        void clear() {
+            lock();
+            try {
+                table = newTable(table.length);
+                count = 0;
+            } finally {
+                unlock();
+            }
+        }
+
+        private void insert(final Node<K, V>[] tab, final int index, final Node<K, V> head,
+                            final K key, final int hash, final V value) {
+            setBinAt(tab, index, new Node<>(hash, key, value, head));
+            int c = count + 1;
+            count = c;
+            if (c > threshold) {
+                rehash();
+            }
+        }
+
+        private void unlink(final Node<K, V>[] tab, final int index, final Node<K, V> prev, final Node<K, V> node) {
+            if (prev == null) {
+                setBinAt(tab, index, node.next);
+            } else {
+                prev.next = node.next;
+            }
+            count = count - 1;
+        }
+
+        /**
+         * Doubles the table of this segment. The nodes are copied rather than
+         * relinked so readers still walking the old table are not disturbed.
+         */
+        private void rehash() {
+            Node<K, V>[] oldTable = table;
+            Node<K, V>[] newTable = newTable(oldTable.length * 2);
+            int mask = newTable.length - 1;
+
+            for (int i = 0; i < oldTable.length; i++) {
+                for (Node<K, V> node = binAt(oldTable, i); node != null; node = node.next) {
+                    int index = node.hash & mask;
+                    newTable[index] = new Node<>(node.hash, node.key, node.value, newTable[index]);
+                }
+            }
+
+            threshold = (int) (newTable.length * LOAD_FACTOR);
+            table = newTable;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static <K, V> Node<K, V>[] newTable(final int capacity) {
+            return (Node<K, V>[]) new Node[capacity];
+        }
+
+        @SuppressWarnings("unchecked")
+        static <K, V> Node<K, V> binAt(final Node<K, V>[] table, final int index) {
+            return (Node<K, V>) BINS.getAcquire(table, index);
+        }
+
+        private static <K, V> void setBinAt(final Node<K, V>[] table, final int index, final Node<K, V> node) {
+            BINS.setRelease(table, index, node);
+        }
+    }
+}
@@ -1,12 +1,40 @@
 package com.beastlymc.data.hash;
 
-import com.beastlymc.data.arrays.Array;
+import com.beastlymc.data.common.Footprint;
 import com.beastlymc.data.common.Map;
-import com.beastlymc.data.lists.LinkedList;
+import com.beastlymc.data.common.MapCursor;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
- * A hash map implementation of the Map interface using a dynamic array of
- * linked lists to handle collisions.
+ * A hash map implementation of the Map interface using open addressing with
+ * linear probing.
+ * <p>
+ * Keys and values are stored in two parallel arrays whose length is always a
+ * power of two, so a bucket index is computed with a bit mask instead of a
+ * modulo. Removals use backward-shift deletion, which keeps probe sequences
+ * short without leaving tombstones behind. Null keys are not permitted, null
+ * values are.
+ * <p>
+ * Large tables are resized incrementally: when the load factor is reached a
+ * table of twice the size is allocated and every following operation moves a
+ * few slots of the old table into it, so no single call pays for a full
+ * rehash. While a resize is running lookups consult both tables.
+ * <p>
+ * Hash codes are mixed with the MurmurHash3 finalizer before they are masked,
+ * so keys whose hash codes only differ in their high bits still spread over
+ * the table. For keys that come from untrusted sources a map can be made
+ * flood resistant: it then hashes {@link String} keys with SipHash under a
+ * random per-map key, seeds the mixing of all other keys, and picks a new key
+ * and rehashes whenever an insertion has to probe unusually far. Keys of
+ * other types whose {@code hashCode()} values are identical still collide.
  *
  * @param <K> the type of keys in the map
  * @param <V> the type of values in the map
@@ -24,23 +52,148 @@ public class HashMap<K, V> implements Map<K, V> {
     private static final float LOAD_FACTOR = 0.75f;
 
     /**
-     * The array used to store the hash map.
+     * Tables smaller than this are rehashed in a single step, as an
+     * incremental resize would cost more than it saves.
+     */
+    private static final int MIN_INCREMENTAL_CAPACITY = 1 << 10;
+
+    /**
+     * The amount of old slots moved into the new table per operation while a
+     * resize is running.
+     */
+    private static final int MIGRATION_STEP = 8;
+
+    /**
+     * Marks a slot of the old table whose entry has been moved or removed.
+     * The marker keeps the probe sequences of the old table intact.
+     */
+    private static final Object MOVED = new Object();
+
+    /**
+     * Returned by internal lookups when a key has no mapping, as null is a
+     * valid value.
+     */
+    private static final Object NO_MAPPING = new Object();
+
+    /**
+     * The amount of keys that are hashed together by the bulk operations
+     * before their slots are probed.
+     */
+    private static final int BATCH_SIZE = 64;
+
+    /**
+     * The smallest probe length that makes a flood resistant map reseed.
+     */
+    private static final int MIN_RESEED_PROBE_LENGTH = 32;
+
+    /**
+     * The keys of the map, a {@code null} slot is empty.
+     */
+    private Object[] keys;
+
+    /**
+     * The values of the map, stored at the same index as their key.
+     */
+    private Object[] values;
+
+    /**
+     * The mask used to turn a hash into a slot index, always
+     * {@code keys.length - 1}.
+     */
+    private int mask;
+
+    /**
+     * The amount of elements at which the table is resized.
      */
-    private Array<LinkedList<Entry<K, V>>> table;
+    private int threshold;
+
+    /**
+     * The table that is being drained by a running resize, or null.
+     */
+    private Object[] oldKeys;
+
+    /**
+     * The values of the table that is being drained by a running resize.
+     */
+    private Object[] oldValues;
+
+    /**
+     * The next slot of the old table to move into the new table.
+     */
+    private int migrationIndex;
 
     /**
      * The amount of elements in the table
      */
     private int size;
 
+    /**
+     * Whether keys are hashed with a random per-map key.
+     */
+    private final boolean floodResistant;
+
+    /**
+     * The low half of the hash key of a flood resistant map.
+     */
+    private long seed0;
+
+    /**
+     * The high half of the hash key of a flood resistant map.
+     */
+    private long seed1;
+
+    /**
+     * Whether the map has been reseeded since the table last grew. Limits
+     * reseeding to once per table size, as reseeding cannot separate keys
+     * with identical hash codes.
+     */
+    private boolean reseeded;
+
+    /**
+     * Counts the hash keys picked so far. Bulk operations compare it to tell
+     * if the hashes they computed ahead of time are still valid.
+     */
+    private int seedGeneration;
+
+    /**
+     * Counts insertions and removals of keys. The compute methods compare it
+     * to detect functions that modify the map.
+     */
+    private int modCount;
+
+    /**
+     * Counts the operations that move entries to other slots without adding
+     * or removing keys, such as incremental resize steps.
+     */
+    private int relocationCount;
+
+    /**
+     * Constructs a HashMap with a given capacity that is optionally resistant
+     * to hash flooding.
+     *
+     * @param initialCapacity the initial capacity of the hash map
+     * @param floodResistant  true to hash keys with a random per-map key and
+     *                        reseed on long probe sequences
+     */
+    public HashMap(int initialCapacity, boolean floodResistant) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.floodResistant = floodResistant;
+        if (floodResistant) {
+            newSeed();
+        }
+        allocate(Hashing.tableSizeFor(initialCapacity));
+        size = 0;
+    }
+
     /**
      * Constructs a HashMap with a given capacity
      *
      * @param initialCapacity the initial capacity of the hash map
      */
     public HashMap(int initialCapacity) {
-        table = new Array<>(initialCapacity);
-        size = 0;
+        this(initialCapacity, false);
     }
 
     /**
@@ -62,81 +215,578 @@ public class HashMap<K, V> implements Map<K, V> {
      */
     @Override
     public V put(final K key, final V value) {
-        int index = hash(key) % table.length();
+        migrate();
+        return put(key, hash(key), value);
+    }
 
-        if (table.get(index) == null) {
-            table.insert(index, new LinkedList<>());
+    private V put(final K key, final int hash, final V value) {
+        int slot = slotOf(key, hash);
+        if (slot >= 0) {
+            V oldValue = valueAt(slot);
+            values[slot] = value;
+            return oldValue;
         }
 
-        for (Entry<K, V> entry : table.get(index)) {
-            if (entry.key.equals(key)) {
-                V oldValue = entry.value;
-                entry.value = value;
-                return oldValue;
-            }
+        insert(-(slot + 1), key, hash, value);
+        return null;
+    }
+
+    @Override
+    public V getOrDefault(final K key, final V defaultValue) {
+        migrate();
+
+        Object value = lookup(key, hash(key));
+        return value == NO_MAPPING
+               ? defaultValue
+               : castValue(value);
+    }
+
+    /**
+     * Computes a value for the specified key with the given function if the
+     * key has no mapping or is mapped to null, and stores it unless it is
+     * null. The key is hashed and probed only once.
+     *
+     * @param key             the key whose value is to be computed
+     * @param mappingFunction the function computing the value
+     *
+     * @return the current value of the key, or null if there is none
+     *
+     * @throws ConcurrentModificationException if the function adds or removes
+     *                                         keys of this map
+     */
+    @Override
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        migrate();
+
+        int hash = hash(key);
+        int slot = slotOf(key, hash);
+        if (slot >= 0 && values[slot] != null) {
+            return valueAt(slot);
         }
 
-        table.get(index).add(new Entry<>(key, value));
-        size++;
+        int expectedModCount = modCount;
+        int expectedRelocationCount = relocationCount;
+        V value = mappingFunction.apply(key);
+        slot = revalidate(key, hash, slot, expectedModCount, expectedRelocationCount);
 
-        if (size > table.size() * LOAD_FACTOR) {
-            resize();
+        return value == null
+               ? null
+               : store(key, hash, slot, value);
+    }
+
+    /**
+     * Computes a new value for the specified key with the given function if
+     * the key is mapped to a non-null value. The mapping is removed if the new
+     * value is null. The key is hashed and probed only once.
+     *
+     * @param key               the key whose value is to be computed
+     * @param remappingFunction the function computing the new value from the
+     *                          key and its current value
+     *
+     * @return the new value of the key, or null if there is none
+     *
+     * @throws ConcurrentModificationException if the function adds or removes
+     *                                         keys of this map
+     */
+    @Override
+    public V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        migrate();
+
+        int hash = hash(key);
+        int slot = slotOf(key, hash);
+        if (slot < 0 || values[slot] == null) {
+            return null;
         }
 
-        return null;
+        int expectedModCount = modCount;
+        int expectedRelocationCount = relocationCount;
+        V value = remappingFunction.apply(key, valueAt(slot));
+        slot = revalidate(key, hash, slot, expectedModCount, expectedRelocationCount);
+
+        return store(key, hash, slot, value);
+    }
+
+    /**
+     * Computes a new value for the specified key with the given function,
+     * passing null as the current value if the key has no mapping. The
+     * mapping is removed if the new value is null. The key is hashed and
+     * probed only once.
+     *
+     * @param key               the key whose value is to be computed
+     * @param remappingFunction the function computing the new value from the
+     *                          key and its current value
+     *
+     * @return the new value of the key, or null if there is none
+     *
+     * @throws ConcurrentModificationException if the function adds or removes
+     *                                         keys of this map
+     */
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        migrate();
+
+        int hash = hash(key);
+        int slot = slotOf(key, hash);
+        V oldValue = slot >= 0
+                     ? valueAt(slot)
+                     : null;
+
+        int expectedModCount = modCount;
+        int expectedRelocationCount = relocationCount;
+        V value = remappingFunction.apply(key, oldValue);
+        slot = revalidate(key, hash, slot, expectedModCount, expectedRelocationCount);
+
+        return store(key, hash, slot, value);
+    }
+
+    /**
+     * Associates the specified value with the specified key if the key has no
+     * mapping or is mapped to null. Otherwise the current value is replaced
+     * by the result of the given function, or removed if that result is null.
+     * The key is hashed and probed only once.
+     *
+     * @param key               the key whose value is to be merged
+     * @param value             the value to store if the key has no value
+     * @param remappingFunction the function combining the current and the
+     *                          specified value
+     *
+     * @return the new value of the key, or null if there is none
+     *
+     * @throws NullPointerException            if the value is null
+     * @throws ConcurrentModificationException if the function adds or removes
+     *                                         keys of this map
+     */
+    @Override
+    public V merge(final K key, final V value, final BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+
+        migrate();
+
+        int hash = hash(key);
+        int slot = slotOf(key, hash);
+        if (slot < 0 || values[slot] == null) {
+            return store(key, hash, slot, value);
+        }
+
+        int expectedModCount = modCount;
+        int expectedRelocationCount = relocationCount;
+        V newValue = remappingFunction.apply(valueAt(slot), value);
+        slot = revalidate(key, hash, slot, expectedModCount, expectedRelocationCount);
+
+        return store(key, hash, slot, newValue);
     }
 
     @Override
     public V get(final K key) {
-        int index = hash(key) % table.length();
+        migrate();
 
-        if (table.get(index) == null) {
-            return null;
+        Object value = lookup(key, hash(key));
+        return value == NO_MAPPING
+               ? null
+               : castValue(value);
+    }
+
+    @Override
+    public V remove(final K key) {
+        migrate();
+
+        Object oldValue = remove(key, hash(key));
+        return oldValue == NO_MAPPING
+               ? null
+               : castValue(oldValue);
+    }
+
+    @Override
+    public boolean containsKey(final K key) {
+        migrate();
+        return lookup(key, hash(key)) != NO_MAPPING;
+    }
+
+    /**
+     * Performs the given action for each key-value mapping in this map, in
+     * table order. A running incremental resize is finished first.
+     *
+     * @param action the action to be performed for each mapping
+     */
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        finishMigration();
+
+        Object[] tableKeys = keys;
+        Object[] tableValues = values;
+        for (int i = 0; i < tableKeys.length; i++) {
+            if (tableKeys[i] != null) {
+                action.accept(castKey(tableKeys[i]), castValue(tableValues[i]));
+            }
+        }
+    }
+
+    /**
+     * Returns the keys of this map. Its iterators walk the table directly and
+     * create no objects per key. Starting an iteration finishes a running
+     * incremental resize, and the map must not be modified until the
+     * iteration is done.
+     *
+     * @return an iterable over the keys of this map
+     */
+    public Iterable<K> keys() {
+        return () -> {
+            finishMigration();
+            return new KeyIterator();
+        };
+    }
+
+    /**
+     * Returns the values of this map. Its iterators walk the table directly
+     * and create no objects per value. Starting an iteration finishes a
+     * running incremental resize, and the map must not be modified until the
+     * iteration is done.
+     *
+     * @return an iterable over the values of this map
+     */
+    public Iterable<V> values() {
+        return () -> {
+            finishMigration();
+            return new ValueIterator();
+        };
+    }
+
+    /**
+     * Returns the mappings of this map. To avoid creating an object per
+     * mapping every iterator returns the same entry over and over again,
+     * positioned on the current mapping, so entries must be copied if they are
+     * kept beyond a call to {@code next()}. {@link Entry#setValue(Object)}
+     * writes through to the map. Starting an iteration finishes a running
+     * incremental resize, and the map must not be modified until the
+     * iteration is done.
+     *
+     * @return an iterable over the mappings of this map
+     */
+    public Iterable<Entry<K, V>> entries() {
+        return () -> {
+            finishMigration();
+            return new EntryIterator();
+        };
+    }
+
+    /**
+     * Returns a cursor over the mappings of this map, the cheapest way to scan
+     * the whole map. Creating the cursor finishes a running incremental
+     * resize, and the map must not be modified until the scan is done.
+     *
+     * @return a cursor positioned before the first mapping of this map
+     */
+    public MapCursor<K, V> cursor() {
+        finishMigration();
+        return new Cursor();
+    }
+
+    /**
+     * Copies all mappings of the specified map into this map. The table is
+     * grown once up front instead of repeatedly while the mappings are added.
+     *
+     * @param map the mappings to be stored in this map
+     */
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        ensureCapacity(size + map.size());
+        map.forEach(this::put);
+    }
+
+    /**
+     * Associates every key of the first array with the value at the same
+     * index of the second array. The table is grown once up front, and keys
+     * are hashed in batches before their slots are probed so the memory
+     * accesses of a batch can overlap.
+     *
+     * @param keys   the keys with which the values are to be associated
+     * @param values the values to be associated with the keys
+     *
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    @Override
+    public void putAll(final K[] keys, final V[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Expected as many values as keys, got " + keys.length +
+                                               " keys and " + values.length + " values");
         }
 
-        for (Entry<K, V> entry : table.get(index)) {
-            if (entry.key.equals(key)) {
-                return entry.value;
+        ensureCapacity(size + keys.length);
+
+        int[] hashes = new int[BATCH_SIZE];
+        for (int start = 0; start < keys.length; start += BATCH_SIZE) {
+            int end = Math.min(keys.length, start + BATCH_SIZE);
+            int generation = seedGeneration;
+            for (int i = start; i < end; i++) {
+                hashes[i - start] = hash(keys[i]);
+            }
+
+            for (int i = start; i < end; i++) {
+                migrate();
+                if (generation != seedGeneration) {
+                    hashes[i - start] = hash(keys[i]);
+                }
+                put(keys[i], hashes[i - start], values[i]);
             }
         }
+    }
 
-        return null;
+    /**
+     * Looks up every specified key and performs the given action for those
+     * that are contained in this map. Keys are hashed in batches before their
+     * slots are probed.
+     *
+     * @param keys   the keys whose values are to be looked up
+     * @param action the action to be performed with every key that has a
+     *               mapping and its value
+     */
+    @Override
+    public void getAll(final Iterable<? extends K> keys, final BiConsumer<? super K, ? super V> action) {
+        Object[] batch = new Object[BATCH_SIZE];
+        int[] hashes = new int[BATCH_SIZE];
+        int count = 0;
+
+        for (K key : keys) {
+            batch[count] = key;
+            hashes[count] = hash(key);
+            if (++count == BATCH_SIZE) {
+                getBatch(batch, hashes, count, action);
+                count = 0;
+            }
+        }
+        getBatch(batch, hashes, count, action);
     }
 
+    /**
+     * Removes the mappings of all specified keys from this map. Keys are
+     * hashed in batches before their slots are probed.
+     *
+     * @param keys the keys whose mappings are to be removed
+     *
+     * @return the number of mappings that were removed
+     */
     @Override
-    public V remove(final K key) {
-        int index = hash(key) % table.length();
+    public int removeAll(final Iterable<? extends K> keys) {
+        Object[] batch = new Object[BATCH_SIZE];
+        int[] hashes = new int[BATCH_SIZE];
+        int count = 0;
+        int removed = 0;
 
-        if (table.get(index) == null) {
-            return null;
+        for (K key : keys) {
+            batch[count] = key;
+            hashes[count] = hash(key);
+            if (++count == BATCH_SIZE) {
+                removed += removeBatch(batch, hashes, count);
+                count = 0;
+            }
+        }
+        return removed + removeBatch(batch, hashes, count);
+    }
+
+    /**
+     * Grows the table so that it can hold the specified amount of mappings
+     * without resizing. A running incremental resize is finished first.
+     *
+     * @param expectedSize the amount of mappings the map should be able to
+     *                     hold
+     */
+    public void ensureCapacity(final int expectedSize) {
+        finishMigration();
+
+        long required = (long) Math.ceil(expectedSize / (double) LOAD_FACTOR) + 1;
+        int capacity = Hashing.tableSizeFor((int) Math.min(required, Hashing.MAXIMUM_CAPACITY));
+        if (capacity > keys.length) {
+            rehash(capacity);
+            reseeded = false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void getBatch(final Object[] batch, final int[] hashes, final int count,
+                          final BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < count; i++) {
+            migrate();
+            Object value = lookup(batch[i], hashes[i]);
+            if (value != NO_MAPPING) {
+                action.accept((K) batch[i], (V) value);
+            }
+            batch[i] = null;
+        }
+    }
+
+    private int removeBatch(final Object[] batch, final int[] hashes, final int count) {
+        int removed = 0;
+        for (int i = 0; i < count; i++) {
+            migrate();
+            if (remove(batch[i], hashes[i]) != NO_MAPPING) {
+                removed++;
+            }
+            batch[i] = null;
+        }
+        return removed;
+    }
+
+    /**
+     * Looks up the value of the specified key in the current and the old
+     * table.
+     *
+     * @param key  the key to search for
+     * @param hash the hash of the key
+     *
+     * @return the value of the key, or {@link #NO_MAPPING} if the key has no
+     * mapping
+     */
+    private Object lookup(final Object key, final int hash) {
+        int index = indexOf(key, hash);
+        if (index >= 0) {
+            return values[index];
+        }
+
+        if (oldKeys != null) {
+            int oldIndex = oldIndexOf(key, hash);
+            if (oldIndex >= 0) {
+                return oldValues[oldIndex];
+            }
+        }
+
+        return NO_MAPPING;
+    }
+
+    /**
+     * Removes the mapping of the specified key from the current or the old
+     * table.
+     *
+     * @param key  the key whose mapping is to be removed
+     * @param hash the hash of the key
+     *
+     * @return the removed value, or {@link #NO_MAPPING} if the key had no
+     * mapping
+     */
+    private Object remove(final Object key, final int hash) {
+        int index = indexOf(key, hash);
+
+        if (index >= 0) {
+            Object oldValue = values[index];
+            removeAt(index);
+            return oldValue;
         }
 
-        for (Entry<K, V> entry : table.get(index)) {
-            if (entry.key.equals(key)) {
-                table.get(index).remove(entry);
+        if (oldKeys != null) {
+            int oldIndex = oldIndexOf(key, hash);
+            if (oldIndex >= 0) {
+                Object oldValue = oldValues[oldIndex];
+                oldKeys[oldIndex] = MOVED;
+                oldValues[oldIndex] = null;
                 size--;
-                return entry.value;
+                modCount++;
+                return oldValue;
             }
         }
 
-        return null;
+        return NO_MAPPING;
     }
 
-    @Override
-    public boolean containsKey(final K key) {
-        int index = hash(key) % table.length();
+    /**
+     * Finds the slot of the specified key in the current table. A key that is
+     * still in the old table of a running resize is moved over first.
+     *
+     * @param key  the key to search for
+     * @param hash the hash of the key
+     *
+     * @return the slot of the key, or {@code -(insertion slot + 1)} if the key
+     * has no mapping
+     */
+    private int slotOf(final Object key, final int hash) {
+        int index = hash & mask;
 
-        if (table.get(index) == null) {
-            return false;
+        Object current;
+        while ((current = keys[index]) != null) {
+            if (current.equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
         }
 
-        for (Entry<K, V> entry : table.get(index)) {
-            if (entry.key.equals(key)) {
-                return true;
+        if (oldKeys != null) {
+            int oldIndex = oldIndexOf(key, hash);
+            if (oldIndex >= 0) {
+                keys[index] = oldKeys[oldIndex];
+                values[index] = oldValues[oldIndex];
+                oldKeys[oldIndex] = MOVED;
+                oldValues[oldIndex] = null;
+                return index;
             }
         }
 
-        return false;
+        return -(index + 1);
+    }
+
+    /**
+     * Stores a new key at the specified free slot and grows or reseeds the
+     * table if needed.
+     *
+     * @param index the free slot found by {@link #slotOf(Object, int)}
+     * @param key   the key to store
+     * @param hash  the hash of the key
+     * @param value the value to store
+     */
+    private void insert(final int index, final K key, final int hash, final V value) {
+        keys[index] = key;
+        values[index] = value;
+        modCount++;
+
+        if (++size >= threshold) {
+            resize();
+        } else if (floodResistant && !reseeded && ((index - (hash & mask)) & mask) > maxProbeLength()) {
+            reseed();
+        }
+    }
+
+    private void removeAt(final int index) {
+        size--;
+        modCount++;
+        shiftKeys(index);
+    }
+
+    /**
+     * Checks that the function of a compute method did not modify this map and
+     * probes again if it moved entries, for example by advancing a resize
+     * with a lookup.
+     *
+     * @return the slot of the key in the current table, as returned by
+     * {@link #slotOf(Object, int)}
+     *
+     * @throws ConcurrentModificationException if keys were added or removed
+     */
+    private int revalidate(final Object key, final int hash, final int slot,
+                           final int expectedModCount, final int expectedRelocationCount) {
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        return relocationCount == expectedRelocationCount
+               ? slot
+               : slotOf(key, hash);
+    }
+
+    /**
+     * Stores the result of a compute method at the slot found for its key,
+     * removing the mapping if the result is null.
+     *
+     * @return the stored value
+     */
+    private V store(final K key, final int hash, final int slot, final V value) {
+        if (value == null) {
+            if (slot >= 0) {
+                removeAt(slot);
+            }
+        } else if (slot >= 0) {
+            values[slot] = value;
+        } else {
+            insert(-(slot + 1), key, hash, value);
+        }
+        return value;
     }
 
     /**
@@ -154,61 +804,347 @@ public class HashMap<K, V> implements Map<K, V> {
      */
     @Override
     public void clear() {
-        int length = table.size();
-        table = new Array<>(length);
+        allocate(keys.length);
+        oldKeys = null;
+        oldValues = null;
         size = 0;
+        modCount++;
     }
 
     /**
-     * Resizes the hash map by doubling the capacity and rehashing all key-value
-     * pairs.
+     * Returns the number of slots in the backing table.
+     *
+     * @return the number of slots in the backing table
      */
-    private void resize() {
-        int newCapacity = table.length() * 2;
-        LinkedList<Entry<K, V>>[] newTable = new LinkedList[newCapacity];
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Estimates the memory used by this map. Empty slots and the longest probe
+     * sequence are reported for the current table, an old table that is still
+     * being drained by a resize only adds to the retained size.
+     *
+     * @return the memory footprint of this map
+     */
+    @Override
+    public Footprint footprint() {
+        long emptySlots = 0;
+        int longestProbe = 0;
 
-        for (LinkedList<Entry<K, V>> bucket : table) {
-            if (bucket != null) {
-                for (Entry<K, V> entry : bucket) {
-                    int index = hash(entry.key) % newCapacity;
+        for (int i = 0; i < keys.length; i++) {
+            Object key = keys[i];
+            if (key == null) {
+                emptySlots++;
+                continue;
+            }
+            int probe = ((i - (hash(key) & mask)) & mask) + 1;
+            longestProbe = Math.max(longestProbe, probe);
+        }
 
-                    if (newTable[index] == null) {
-                        newTable[index] = new LinkedList<>();
-                    }
+        long shallow = Footprint.objectBytes(4, 7 * Integer.BYTES + 2 * Long.BYTES + 2);
+        long retained = shallow + 2 * Footprint.arrayBytes(keys.length, Footprint.REFERENCE_BYTES);
+        if (oldKeys != null) {
+            retained += 2 * Footprint.arrayBytes(oldKeys.length, Footprint.REFERENCE_BYTES);
+        }
 
-                    newTable[index].add(entry);
+        return new Footprint(shallow, retained, keys.length, size, emptySlots, longestProbe);
+    }
+
+    /**
+     * Checks if this map hashes its keys with a random per-map key.
+     *
+     * @return true if this map is resistant to hash flooding, false otherwise
+     */
+    public boolean isFloodResistant() {
+        return floodResistant;
+    }
+
+    /**
+     * Checks if an incremental resize is currently moving entries from the old
+     * table into the new one.
+     *
+     * @return true if a resize is running, false otherwise
+     */
+    public boolean isResizing() {
+        return oldKeys != null;
+    }
+
+    /**
+     * Returns how far the running resize has progressed.
+     *
+     * @return the fraction of old slots that have been moved, between 0 and 1,
+     * or 1 if no resize is running
+     */
+    public float resizeProgress() {
+        if (oldKeys == null) {
+            return 1f;
+        }
+        return (float) migrationIndex / oldKeys.length;
+    }
+
+    /**
+     * Finds the slot of the current table holding the specified key.
+     *
+     * @param key  the key to search for
+     * @param hash the hash of the key
+     *
+     * @return the slot of the key, or -1 if the key is not in the table
+     */
+    private int indexOf(final Object key, final int hash) {
+        int index = hash & mask;
+
+        Object current;
+        while ((current = keys[index]) != null) {
+            if (current.equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Finds the slot of the old table holding the specified key.
+     *
+     * @param key  the key to search for
+     * @param hash the hash of the key
+     *
+     * @return the slot of the key, or -1 if the key is not in the old table
+     */
+    private int oldIndexOf(final Object key, final int hash) {
+        int oldMask = oldKeys.length - 1;
+        int index = hash & oldMask;
+
+        Object current;
+        while ((current = oldKeys[index]) != null) {
+            if (current != MOVED && current.equals(key)) {
+                return index;
+            }
+            index = (index + 1) & oldMask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Closes the gap left by a removed entry by moving every following entry
+     * of the same probe sequence one step closer to its home slot.
+     *
+     * @param index the slot that has just been emptied
+     */
+    private void shiftKeys(int index) {
+        int last;
+        Object current;
+
+        while (true) {
+            index = ((last = index) + 1) & mask;
+
+            while (true) {
+                if ((current = keys[index]) == null) {
+                    keys[last] = null;
+                    values[last] = null;
+                    return;
+                }
+
+                int home = hash(current) & mask;
+                if (last <= index
+                    ? last >= home || home > index
+                    : last >= home && home > index) {
+                    break;
                 }
+                index = (index + 1) & mask;
             }
+
+            keys[last] = current;
+            values[last] = values[index];
+        }
+    }
+
+    /**
+     * Resizes the hash map by doubling the capacity. Small tables are rehashed
+     * immediately, larger ones are moved over by subsequent operations.
+     */
+    private void resize() {
+        finishMigration();
+
+        if (keys.length == Hashing.MAXIMUM_CAPACITY) {
+            if (size == Hashing.MAXIMUM_CAPACITY - 1) {
+                throw new IllegalStateException("HashMap is full");
+            }
+            threshold = Hashing.MAXIMUM_CAPACITY - 1;
+            return;
+        }
+
+        oldKeys = keys;
+        oldValues = values;
+        migrationIndex = 0;
+        reseeded = false;
+
+        allocate(oldKeys.length * 2);
+
+        if (oldKeys.length < MIN_INCREMENTAL_CAPACITY) {
+            migrate(oldKeys.length);
         }
     }
 
     /**
-     * Computes the hash code of the specified key.
+     * Returns the probe length above which a flood resistant map suspects an
+     * attack. It grows with the logarithm of the table length, as the longest
+     * probe sequence of a well distributed table does.
      *
-     * @param key the key for which to compute the hash code
+     * @return the maximum acceptable probe length
+     */
+    private int maxProbeLength() {
+        return Math.max(MIN_RESEED_PROBE_LENGTH, 4 * Integer.numberOfTrailingZeros(keys.length));
+    }
+
+    /**
+     * Picks a new hash key and rehashes every entry into a table of the same
+     * length.
+     */
+    private void reseed() {
+        finishMigration();
+
+        newSeed();
+        reseeded = true;
+        rehash(keys.length);
+    }
+
+    /**
+     * Moves every entry of the current table into a new table of the specified
+     * length in a single step.
      *
-     * @return the positive hash code of the specified key
+     * @param capacity the length of the new table, a power of two
+     */
+    private void rehash(final int capacity) {
+        Object[] previousKeys = keys;
+        Object[] previousValues = values;
+        allocate(capacity);
+
+        for (int i = 0; i < previousKeys.length; i++) {
+            Object key = previousKeys[i];
+            if (key == null) {
+                continue;
+            }
+
+            int index = hash(key) & mask;
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = previousValues[i];
+        }
+    }
+
+    private void newSeed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        seed0 = random.nextLong();
+        seed1 = random.nextLong();
+        seedGeneration++;
+    }
+
+    /**
+     * Moves the next few slots of a running resize into the new table.
      */
-    private int hash(K key) {
-        return (key.hashCode() & 0x7FFFFFFF);
+    private void migrate() {
+        if (oldKeys != null) {
+            migrate(MIGRATION_STEP);
+        }
     }
 
     /**
-     * An entry in the hash map, consisting of a key and a value.
+     * Moves all remaining old slots into the new table, so that only a single
+     * table has to be consulted afterwards.
+     */
+    private void finishMigration() {
+        if (oldKeys != null) {
+            migrate(oldKeys.length);
+        }
+    }
+
+    /**
+     * Moves up to the specified amount of old slots into the new table and
+     * drops the old table once it has been drained.
      *
-     * @param <K> the type of the key
-     * @param <V> the type of the value
+     * @param slots the maximum amount of old slots to move
      */
-    private static class Entry<K, V> {
-        K key;
-        V value;
+    private void migrate(final int slots) {
+        int end = Math.min(oldKeys.length, migrationIndex + slots);
 
-        Entry(K key, V value) {
-            this.key = key;
-            this.value = value;
+        for (int i = migrationIndex; i < end; i++) {
+            Object key = oldKeys[i];
+            if (key == null || key == MOVED) {
+                continue;
+            }
+
+            int index = hash(key) & mask;
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = oldValues[i];
+
+            oldKeys[i] = MOVED;
+            oldValues[i] = null;
+        }
+
+        migrationIndex = end;
+        relocationCount++;
+
+        if (migrationIndex == oldKeys.length) {
+            oldKeys = null;
+            oldValues = null;
         }
     }
 
+    /**
+     * Replaces the backing arrays with empty arrays of the specified length.
+     *
+     * @param capacity the new table length, a power of two
+     */
+    private void allocate(final int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        relocationCount++;
+        threshold = Hashing.threshold(capacity, LOAD_FACTOR);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int index) {
+        return (V) values[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V castValue(final Object value) {
+        return (V) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K castKey(final Object key) {
+        return (K) key;
+    }
+
+    /**
+     * Computes the hash code of the specified key. All bits are mixed into
+     * the low bits because only the low bits are used by the mask.
+     *
+     * @param key the key for which to compute the hash code
+     *
+     * @return the mixed hash code of the specified key
+     */
+    private int hash(Object key) {
+        if (!floodResistant) {
+            return Hashing.mix(key.hashCode());
+        }
+        if (key instanceof String string) {
+            return Hashing.sipHash(seed0, seed1, string);
+        }
+        return Hashing.mix(key.hashCode() ^ (int) seed0);
+    }
+
     /**
      * @return a string representation of this map
      */
@@ -217,23 +1153,155 @@ public class HashMap<K, V> implements Map<K, V> {
         StringBuilder sb = new StringBuilder();
         sb.append("{");
 
-        boolean isFirstEntry = true;
-        for (int i = 0; i < table.size(); i++) {
-            if (table.get(i) != null) {
-                for (Entry<K, V> entry : table.get(i)) {
-                    if (isFirstEntry) {
-                        isFirstEntry = false;
-                    } else {
-                        sb.append(", ");
-                    }
-                    sb.append(entry.key.toString());
-                    sb.append("=");
-                    sb.append(entry.value.toString());
-                }
-            }
+        boolean isFirstEntry = appendEntries(sb, keys, values, true);
+        if (oldKeys != null) {
+            appendEntries(sb, oldKeys, oldValues, isFirstEntry);
         }
 
         sb.append("}");
         return sb.toString();
     }
+
+    private static boolean appendEntries(final StringBuilder sb, final Object[] keys, final Object[] values, boolean isFirstEntry) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && keys[i] != MOVED) {
+                if (isFirstEntry) {
+                    isFirstEntry = false;
+                } else {
+                    sb.append(", ");
+                }
+                sb.append(keys[i]);
+                sb.append("=");
+                sb.append(values[i]);
+            }
+        }
+        return isFirstEntry;
+    }
+
+    /**
+     * Walks the occupied slots of the table that was current when the
+     * iteration started.
+     *
+     * @param <T> the type of the returned elements
+     */
+    private abstract class TableIterator<T> implements Iterator<T> {
+        final Object[] tableKeys = keys;
+        final Object[] tableValues = values;
+        int current = -1;
+        int next = seek(0);
+
+        @Override
+        public boolean hasNext() {
+            return next < tableKeys.length;
+        }
+
+        int nextIndex() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = next;
+            next = seek(next + 1);
+            return current;
+        }
+
+        private int seek(int index) {
+            while (index < tableKeys.length && tableKeys[index] == null) {
+                index++;
+            }
+            return index;
+        }
+    }
+
+    private final class KeyIterator extends TableIterator<K> {
+        @Override
+        public K next() {
+            return castKey(tableKeys[nextIndex()]);
+        }
+    }
+
+    private final class ValueIterator extends TableIterator<V> {
+        @Override
+        public V next() {
+            return castValue(tableValues[nextIndex()]);
+        }
+    }
+
+    /**
+     * Returns itself from every call to {@link #next()}, positioned on the
+     * current slot.
+     */
+    private final class EntryIterator extends TableIterator<Entry<K, V>>
+            implements Entry<K, V> {
+        @Override
+        public Entry<K, V> next() {
+            nextIndex();
+            return this;
+        }
+
+        @Override
+        public K getKey() {
+            checkPosition();
+            return castKey(tableKeys[current]);
+        }
+
+        @Override
+        public V getValue() {
+            checkPosition();
+            return castValue(tableValues[current]);
+        }
+
+        @Override
+        public V setValue(final V value) {
+            checkPosition();
+            V oldValue = castValue(tableValues[current]);
+            tableValues[current] = value;
+            return oldValue;
+        }
+
+        private void checkPosition() {
+            if (current < 0) {
+                throw new IllegalStateException("The iterator is not positioned on an entry");
+            }
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+    private final class Cursor implements MapCursor<K, V> {
+        private final Object[] tableKeys = keys;
+        private final Object[] tableValues = values;
+        private int index = -1;
+
+        @Override
+        public boolean advance() {
+            while (++index < tableKeys.length) {
+                if (tableKeys[index] != null) {
+                    return true;
+                }
+            }
+            index = tableKeys.length;
+            return false;
+        }
+
+        @Override
+        public K key() {
+            checkPosition();
+            return castKey(tableKeys[index]);
+        }
+
+        @Override
+        public V value() {
+            checkPosition();
+            return castValue(tableValues[index]);
+        }
+
+        private void checkPosition() {
+            if (index < 0 || index >= tableKeys.length) {
+                throw new IllegalStateException("The cursor is not positioned on a mapping");
+            }
+        }
+    }
 }
@@ -0,0 +1,143 @@
+package com.beastlymc.data.hash;
+
+/**
+ * Hash mixing and table sizing shared by the maps of this package.
+ */
+final class Hashing {
+
+    /**
+     * The largest power of two that can be used as a table length.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private Hashing() {
+    }
+
+    /**
+     * Mixes all bits of the specified hash using the MurmurHash3 finalizer, so
+     * keys that only differ in their high bits still land in different slots
+     * of a power-of-two table.
+     *
+     * @param h the hash to mix
+     *
+     * @return the mixed hash
+     */
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Mixes all bits of the specified long key into an int using the 64-bit
+     * MurmurHash3 finalizer.
+     *
+     * @param h the key to mix
+     *
+     * @return the mixed hash
+     */
+    static int mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    /**
+     * Hashes the characters of the specified sequence with SipHash-1-3 under
+     * the specified 128-bit key. Unlike {@link String#hashCode()}, collisions
+     * of this hash cannot be precomputed without knowing the key.
+     *
+     * @param k0       the low half of the key
+     * @param k1       the high half of the key
+     * @param sequence the characters to hash
+     *
+     * @return the keyed hash of the characters
+     */
+    static int sipHash(final long k0, final long k1, final CharSequence sequence) {
+        long v0 = k0 ^ 0x736F6D6570736575L;
+        long v1 = k1 ^ 0x646F72616E646F6DL;
+        long v2 = k0 ^ 0x6C7967656E657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+
+        int length = sequence.length();
+        int blocks = length >>> 2;
+
+        for (int block = 0; block <= blocks; block++) {
+            long m = 0;
+            int start = block << 2;
+            int end = block < blocks
+                      ? start + 4
+                      : length;
+            for (int i = start; i < end; i++) {
+                m |= (long) sequence.charAt(i) << ((i - start) << 4);
+            }
+            if (block == blocks) {
+                m |= (long) (length << 1) << 56;
+            }
+
+            v3 ^= m;
+            v0 += v1;
+            v1 = Long.rotateLeft(v1, 13) ^ v0;
+            v0 = Long.rotateLeft(v0, 32);
+            v2 += v3;
+            v3 = Long.rotateLeft(v3, 16) ^ v2;
+            v0 += v3;
+            v3 = Long.rotateLeft(v3, 21) ^ v0;
+            v2 += v1;
+            v1 = Long.rotateLeft(v1, 17) ^ v2;
+            v2 = Long.rotateLeft(v2, 32);
+            v0 ^= m;
+        }
+
+        v2 ^= 0xFF;
+        for (int round = 0; round < 3; round++) {
+            v0 += v1;
+            v1 = Long.rotateLeft(v1, 13) ^ v0;
+            v0 = Long.rotateLeft(v0, 32);
+            v2 += v3;
+            v3 = Long.rotateLeft(v3, 16) ^ v2;
+            v0 += v3;
+            v3 = Long.rotateLeft(v3, 21) ^ v0;
+            v2 += v1;
+            v1 = Long.rotateLeft(v1, 17) ^ v2;
+            v2 = Long.rotateLeft(v2, 32);
+        }
+
+        long h = v0 ^ v1 ^ v2 ^ v3;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Returns the smallest power of two that can hold the specified amount of
+     * slots.
+     *
+     * @param capacity the requested capacity
+     *
+     * @return a power of two table length
+     */
+    static int tableSizeFor(final int capacity) {
+        if (capacity >= MAXIMUM_CAPACITY) {
+            return MAXIMUM_CAPACITY;
+        }
+        return Math.max(2, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+    }
+
+    /**
+     * Returns the amount of elements at which a table of the specified length
+     * has to grow.
+     *
+     * @param capacity   the table length
+     * @param loadFactor the maximum fill ratio of the table
+     *
+     * @return the resize threshold, always leaving at least one free slot
+     */
+    static int threshold(final int capacity, final float loadFactor) {
+        return Math.min(capacity - 1, (int) (capacity * loadFactor));
+    }
+}
@@ -0,0 +1,387 @@
+package com.beastlymc.data.hash;
+
+import com.beastlymc.data.common.Footprint;
+import com.beastlymc.data.common.MemoryFootprint;
+
+/**
+ * A hash map from primitive {@code int} keys to primitive {@code int} values
+ * using open addressing with linear probing.
+ * <p>
+ * Keys and values are stored in two parallel {@code int} arrays, so no
+ * operation boxes a key or value. The key {@code 0} marks a free slot and is
+ * stored separately. Because a primitive value cannot be null, lookups of a
+ * missing key return the <i>no entry value</i> of the map, which is
+ * {@code 0} unless specified otherwise. Use {@link #containsKey(int)} to tell
+ * a missing key from a stored value that equals the no entry value.
+ */
+public class IntIntHashMap implements MemoryFootprint {
+
+    /**
+     * The default initial capacity of the hash map.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The load factor threshold at which the hash map should be resized.
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * The key that marks a free slot.
+     */
+    private static final int FREE_KEY = 0;
+
+    /**
+     * The value returned for keys that are not in the map.
+     */
+    private final int noEntryValue;
+
+    /**
+     * The keys of the map.
+     */
+    private int[] keys;
+
+    /**
+     * The values of the map, stored at the same index as their key.
+     */
+    private int[] values;
+
+    /**
+     * Whether the map contains the free key.
+     */
+    private boolean hasFreeKey;
+
+    /**
+     * The value of the free key.
+     */
+    private int freeValue;
+
+    /**
+     * The mask used to turn a hash into a slot index.
+     */
+    private int mask;
+
+    /**
+     * The amount of elements at which the table is resized.
+     */
+    private int threshold;
+
+    /**
+     * The amount of elements in the map
+     */
+    private int size;
+
+    /**
+     * Constructs an IntIntHashMap with a given capacity and no entry value.
+     *
+     * @param initialCapacity the initial capacity of the hash map
+     * @param noEntryValue    the value returned for missing keys
+     */
+    public IntIntHashMap(final int initialCapacity, final int noEntryValue) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.noEntryValue = noEntryValue;
+        this.freeValue = noEntryValue;
+        allocate(Hashing.tableSizeFor(initialCapacity));
+    }
+
+    /**
+     * Constructs an IntIntHashMap with a given capacity
+     *
+     * @param initialCapacity the initial capacity of the hash map
+     */
+    public IntIntHashMap(final int initialCapacity) {
+        this(initialCapacity, 0);
+    }
+
+    /**
+     * Constructs an IntIntHashMap with the default capacity of 16
+     */
+    public IntIntHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     *
+     * @return the previous value associated with the key, or the no entry
+     * value if there was no mapping for the key
+     */
+    public int put(final int key, final int value) {
+        if (key == FREE_KEY) {
+            int oldValue = freeValue;
+            freeValue = value;
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                size++;
+                return noEntryValue;
+            }
+            return oldValue;
+        }
+
+        int index = Hashing.mix(key) & mask;
+
+        int current;
+        while ((current = keys[index]) != FREE_KEY) {
+            if (current == key) {
+                int oldValue = values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+
+        if (++size >= threshold) {
+            resize();
+        }
+
+        return noEntryValue;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped.
+     *
+     * @param key the key whose associated value is to be returned
+     *
+     * @return the value of the key, or the no entry value if there is no
+     * mapping for the key
+     */
+    public int get(final int key) {
+        if (key == FREE_KEY) {
+            return freeValue;
+        }
+
+        int index = indexOf(key);
+        return index < 0
+               ? noEntryValue
+               : values[index];
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     *
+     * @param key the key whose mapping is to be removed from the map
+     *
+     * @return the previous value associated with the key, or the no entry
+     * value if there was no mapping for the key
+     */
+    public int remove(final int key) {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) {
+                return noEntryValue;
+            }
+            int oldValue = freeValue;
+            hasFreeKey = false;
+            freeValue = noEntryValue;
+            size--;
+            return oldValue;
+        }
+
+        int index = indexOf(key);
+        if (index < 0) {
+            return noEntryValue;
+        }
+
+        int oldValue = values[index];
+        size--;
+        shiftKeys(index);
+        return oldValue;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified key.
+     *
+     * @param key the key whose presence in this map is to be tested
+     *
+     * @return true if this map contains a mapping for the specified key, false
+     * otherwise
+     */
+    public boolean containsKey(final int key) {
+        if (key == FREE_KEY) {
+            return hasFreeKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if this map contains no key-value mappings
+     *
+     * @return true if this map contains no key-value mappings, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all mappings from this map.
+     */
+    public void clear() {
+        allocate(keys.length);
+        hasFreeKey = false;
+        freeValue = noEntryValue;
+        size = 0;
+    }
+
+    /**
+     * Returns the value returned for keys that are not in the map.
+     *
+     * @return the no entry value of this map
+     */
+    public int getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    /**
+     * Estimates the memory used by this map. The free key is stored outside of
+     * the table and does not occupy a slot.
+     *
+     * @return the memory footprint of this map
+     */
+    @Override
+    public Footprint footprint() {
+        long emptySlots = 0;
+        int longestProbe = 0;
+
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == FREE_KEY) {
+                emptySlots++;
+                continue;
+            }
+            int probe = ((i - (Hashing.mix(keys[i]) & mask)) & mask) + 1;
+            longestProbe = Math.max(longestProbe, probe);
+        }
+
+        long shallow = Footprint.objectBytes(2, 5 * Integer.BYTES + 1);
+        long retained = shallow + Footprint.arrayBytes(keys.length, Integer.BYTES) +
+                        Footprint.arrayBytes(values.length, Integer.BYTES);
+        return new Footprint(shallow, retained, keys.length, size, emptySlots, longestProbe);
+    }
+
+    private int indexOf(final int key) {
+        int index = Hashing.mix(key) & mask;
+
+        int current;
+        while ((current = keys[index]) != FREE_KEY) {
+            if (current == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Closes the gap left by a removed entry by moving every following entry
+     * of the same probe sequence one step closer to its home slot.
+     *
+     * @param index the slot that has just been emptied
+     */
+    private void shiftKeys(int index) {
+        int last;
+        int current;
+
+        while (true) {
+            index = ((last = index) + 1) & mask;
+
+            while (true) {
+                if ((current = keys[index]) == FREE_KEY) {
+                    keys[last] = FREE_KEY;
+                    return;
+                }
+
+                int home = Hashing.mix(current) & mask;
+                if (last <= index
+                    ? last >= home || home > index
+                    : last >= home && home > index) {
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+
+            keys[last] = current;
+            values[last] = values[index];
+        }
+    }
+
+    /**
+     * Resizes the hash map by doubling the capacity and rehashing all key-value
+     * pairs.
+     */
+    private void resize() {
+        if (keys.length == Hashing.MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("IntIntHashMap is full");
+        }
+
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+
+        allocate(oldKeys.length * 2);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key == FREE_KEY) {
+                continue;
+            }
+
+            int index = Hashing.mix(key) & mask;
+            while (keys[index] != FREE_KEY) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = oldValues[i];
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = Hashing.threshold(capacity, LOAD_FACTOR);
+    }
+
+    /**
+     * @return a string representation of this map
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        boolean isFirstEntry = true;
+        if (hasFreeKey) {
+            sb.append(FREE_KEY).append("=").append(freeValue);
+            isFirstEntry = false;
+        }
+
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE_KEY) {
+                if (isFirstEntry) {
+                    isFirstEntry = false;
+                } else {
+                    sb.append(", ");
+                }
+                sb.append(keys[i]).append("=").append(values[i]);
+            }
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+}
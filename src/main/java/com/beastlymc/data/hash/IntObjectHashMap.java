@@ -0,0 +1,367 @@
+package com.beastlymc.data.hash;
+
+import com.beastlymc.data.common.Footprint;
+import com.beastlymc.data.common.MemoryFootprint;
+
+/**
+ * A hash map from primitive {@code int} keys to object values using open
+ * addressing with linear probing.
+ * <p>
+ * Keys are stored in a {@code int} array parallel to the value array, so no
+ * operation boxes a key. The key {@code 0} marks a free slot and is stored
+ * separately. Lookups of a missing key return null; as null values are
+ * permitted, use {@link #containsKey(int)} to tell a missing key from a stored
+ * null.
+ *
+ * @param <V> the type of values in the map
+ */
+public class IntObjectHashMap<V> implements MemoryFootprint {
+
+    /**
+     * The default initial capacity of the hash map.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The load factor threshold at which the hash map should be resized.
+     */
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * The key that marks a free slot.
+     */
+    private static final int FREE_KEY = 0;
+
+    /**
+     * The keys of the map.
+     */
+    private int[] keys;
+
+    /**
+     * The values of the map, stored at the same index as their key.
+     */
+    private Object[] values;
+
+    /**
+     * Whether the map contains the free key.
+     */
+    private boolean hasFreeKey;
+
+    /**
+     * The value of the free key.
+     */
+    private V freeValue;
+
+    /**
+     * The mask used to turn a hash into a slot index.
+     */
+    private int mask;
+
+    /**
+     * The amount of elements at which the table is resized.
+     */
+    private int threshold;
+
+    /**
+     * The amount of elements in the map
+     */
+    private int size;
+
+    /**
+     * Constructs an IntObjectHashMap with a given capacity
+     *
+     * @param initialCapacity the initial capacity of the hash map
+     */
+    public IntObjectHashMap(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        allocate(Hashing.tableSizeFor(initialCapacity));
+    }
+
+    /**
+     * Constructs an IntObjectHashMap with the default capacity of 16
+     */
+    public IntObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     *
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     *
+     * @return the previous value associated with the key, or null if there was
+     * no mapping for the key
+     */
+    public V put(final int key, final V value) {
+        if (key == FREE_KEY) {
+            V oldValue = freeValue;
+            freeValue = value;
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                size++;
+                return null;
+            }
+            return oldValue;
+        }
+
+        int index = Hashing.mix(key) & mask;
+
+        int current;
+        while ((current = keys[index]) != FREE_KEY) {
+            if (current == key) {
+                V oldValue = valueAt(index);
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+
+        if (++size >= threshold) {
+            resize();
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped.
+     *
+     * @param key the key whose associated value is to be returned
+     *
+     * @return the value of the key, or null if there is no mapping for the key
+     */
+    public V get(final int key) {
+        if (key == FREE_KEY) {
+            return freeValue;
+        }
+
+        int index = indexOf(key);
+        return index < 0
+               ? null
+               : valueAt(index);
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     *
+     * @param key the key whose mapping is to be removed from the map
+     *
+     * @return the previous value associated with the key, or null if there was
+     * no mapping for the key
+     */
+    public V remove(final int key) {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) {
+                return null;
+            }
+            V oldValue = freeValue;
+            hasFreeKey = false;
+            freeValue = null;
+            size--;
+            return oldValue;
+        }
+
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+
+        V oldValue = valueAt(index);
+        size--;
+        shiftKeys(index);
+        return oldValue;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified key.
+     *
+     * @param key the key whose presence in this map is to be tested
+     *
+     * @return true if this map contains a mapping for the specified key, false
+     * otherwise
+     */
+    public boolean containsKey(final int key) {
+        if (key == FREE_KEY) {
+            return hasFreeKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if this map contains no key-value mappings
+     *
+     * @return true if this map contains no key-value mappings, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all mappings from this map.
+     */
+    public void clear() {
+        allocate(keys.length);
+        hasFreeKey = false;
+        freeValue = null;
+        size = 0;
+    }
+
+    /**
+     * Estimates the memory used by this map. The free key is stored outside of
+     * the table and does not occupy a slot.
+     *
+     * @return the memory footprint of this map
+     */
+    @Override
+    public Footprint footprint() {
+        long emptySlots = 0;
+        int longestProbe = 0;
+
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == FREE_KEY) {
+                emptySlots++;
+                continue;
+            }
+            int probe = ((i - (Hashing.mix(keys[i]) & mask)) & mask) + 1;
+            longestProbe = Math.max(longestProbe, probe);
+        }
+
+        long shallow = Footprint.objectBytes(3, 3 * Integer.BYTES + 1);
+        long retained = shallow + Footprint.arrayBytes(keys.length, Integer.BYTES) +
+                        Footprint.arrayBytes(values.length, Footprint.REFERENCE_BYTES);
+        return new Footprint(shallow, retained, keys.length, size, emptySlots, longestProbe);
+    }
+
+    private int indexOf(final int key) {
+        int index = Hashing.mix(key) & mask;
+
+        int current;
+        while ((current = keys[index]) != FREE_KEY) {
+            if (current == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Closes the gap left by a removed entry by moving every following entry
+     * of the same probe sequence one step closer to its home slot.
+     *
+     * @param index the slot that has just been emptied
+     */
+    private void shiftKeys(int index) {
+        int last;
+        int current;
+
+        while (true) {
+            index = ((last = index) + 1) & mask;
+
+            while (true) {
+                if ((current = keys[index]) == FREE_KEY) {
+                    keys[last] = FREE_KEY;
+                    values[last] = null;
+                    return;
+                }
+
+                int home = Hashing.mix(current) & mask;
+                if (last <= index
+                    ? last >= home || home > index
+                    : last >= home && home > index) {
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+
+            keys[last] = current;
+            values[last] = values[index];
+        }
+    }
+
+    /**
+     * Resizes the hash map by doubling the capacity and rehashing all key-value
+     * pairs.
+     */
+    private void resize() {
+        if (keys.length == Hashing.MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("IntObjectHashMap is full");
+        }
+
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        allocate(oldKeys.length * 2);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key == FREE_KEY) {
+                continue;
+            }
+
+            int index = Hashing.mix(key) & mask;
+            while (keys[index] != FREE_KEY) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = oldValues[i];
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = Hashing.threshold(capacity, LOAD_FACTOR);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int index) {
+        return (V) values[index];
+    }
+
+    /**
+     * @return a string representation of this map
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+
+        boolean isFirstEntry = true;
+        if (hasFreeKey) {
+            sb.append(FREE_KEY).append("=").append(freeValue);
+            isFirstEntry = false;
+        }
+
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE_KEY) {
+                if (isFirstEntry) {
+                    isFirstEntry = false;
+                } else {
+                    sb.append(", ");
+                }
+                sb.append(keys[i]).append("=").append(values[i]);
+            }
+        }
+
+        sb.append("}");
+        return sb.toString();
+    }
+}
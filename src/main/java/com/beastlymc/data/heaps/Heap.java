@@ -1,6 +1,13 @@
 package com.beastlymc.data.heaps;
 
 import com.beastlymc.data.arrays.Array;
+import com.beastlymc.data.common.Footprint;
+import com.beastlymc.data.common.MemoryFootprint;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Heap class represents an abstract heap data structure where elements are
@@ -15,7 +22,7 @@ import com.beastlymc.data.arrays.Array;
  *
  * @see Comparable
  */
-public abstract class Heap<T extends Comparable<T>> {
+public abstract class Heap<T extends Comparable<T>> implements MemoryFootprint {
 
     /**
      * The representation of the heap
@@ -175,6 +182,50 @@ public abstract class Heap<T extends Comparable<T>> {
         heapArray.insert(index2, temp);
     }
 
+    /**
+     * Returns a spliterator over the elements in the heap. The elements are
+     * reported in the order of the underlying array, which is not sorted, and
+     * the spliterator splits that array in halves.
+     *
+     * @return a spliterator over the elements in the heap
+     */
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(heapArray.toArray(), 0, size, 0);
+    }
+
+    /**
+     * Returns a sequential {@link Stream} over the elements in the heap, in no
+     * particular order.
+     *
+     * @return a sequential stream over the elements in the heap
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel {@link Stream} over the elements in the heap, in no
+     * particular order.
+     *
+     * @return a parallel stream over the elements in the heap
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Estimates the memory used by the heap and its underlying array.
+     *
+     * @return the memory footprint of the heap
+     */
+    @Override
+    public Footprint footprint() {
+        Footprint arrayFootprint = heapArray.footprint();
+        long shallow = Footprint.objectBytes(1, Integer.BYTES);
+        return new Footprint(shallow, shallow + arrayFootprint.getRetainedBytes(), heapArray.length(), size,
+                             heapArray.length() - size, 0);
+    }
+
     /**
      * Returns a string representation of the heap in the form of a tree.
      *
@@ -1,14 +1,30 @@
 package com.beastlymc.data.lists;
 
+import com.beastlymc.data.common.Footprint;
 import com.beastlymc.data.common.Insertable;
+import com.beastlymc.data.common.ListCursor;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
- * The LinkedList class represents a linked list data structure that stores
- * elements of type E.
+ * The LinkedList class represents a doubly linked list data structure that
+ * stores elements of type E. Adding and removing at either end takes constant
+ * time, and index lookups walk from whichever end is nearer.
+ * <p>
+ * Elements can be inserted and removed in the middle of the list in constant
+ * time through a {@link ListCursor} obtained from {@link #cursor()}.
+ * {@link #removeIf(Predicate)} filters the list in a single pass.
+ * <p>
+ * Its iterators, cursors and spliterators are fail-fast: they throw a
+ * {@link ConcurrentModificationException} if the list is structurally
+ * modified after they were created, by adding or removing elements.
  *
  * @param <E> the type of elements stored in the LinkedList.
  */
@@ -16,17 +32,19 @@ public class LinkedList<E> implements Insertable<E> {
 
     /**
      * The Node class represents a node in the LinkedList, storing an element of
-     * type E and a reference to the next node.
+     * type E and references to the previous and the next node.
      *
      * @param <E> the same type of elements that is stored in the LinkedList.
      */
     private static final class Node<E> {
-        private final E data;
+        private E data;
+        private Node<E> prev;
         private Node<E> next;
 
-        private Node(final E data) {
+        private Node(final Node<E> prev, final E data, final Node<E> next) {
+            this.prev = prev;
             this.data = data;
-            this.next = null;
+            this.next = next;
         }
     }
 
@@ -34,6 +52,12 @@ public class LinkedList<E> implements Insertable<E> {
     private Node<E> tail;
     private int size;
 
+    /**
+     * The number of structural modifications, which lets iterators detect
+     * concurrent modification.
+     */
+    private int modCount;
+
     /**
      * Constructs an empty LinkedList.
      */
@@ -55,17 +79,16 @@ public class LinkedList<E> implements Insertable<E> {
      */
     @Override
     public void add(final E element) {
-        Node<E> newNode = new Node<>(element);
-
-        if (isEmpty()) {
-            head = newNode;
-            tail = newNode;
-        } else {
-            tail.next = newNode;
-            tail = newNode;
-        }
+        linkBefore(element, null);
+    }
 
-        size++;
+    /**
+     * Adds the specified element to the end of the LinkedList.
+     *
+     * @param element the element to add to the end of the LinkedList
+     */
+    public void addLast(final E element) {
+        linkBefore(element, null);
     }
 
     /**
@@ -74,10 +97,7 @@ public class LinkedList<E> implements Insertable<E> {
      * @param element the element to add to the beginning of the LinkedList
      */
     public void addFirst(final E element) {
-        Node<E> newNode = new Node<>(element);
-        newNode.next = head;
-        head = newNode;
-        size++;
+        linkBefore(element, head);
     }
 
     @Override
@@ -86,38 +106,17 @@ public class LinkedList<E> implements Insertable<E> {
             throw new IndexOutOfBoundsException(index);
         }
 
-        if (index == 0) {
-            addFirst(element);
-            return;
-        }
-
-        Node<E> current = getNodeAt(index - 1);
-        Node<E> newNode = new Node<>(element);
-        newNode.next = current.next;
-        current.next = newNode;
-        size++;
+        linkBefore(element, index == size
+                            ? null
+                            : getNodeAt(index));
     }
 
     @Override
     public Optional<E> remove(final E element) {
-        Node<E> current = head;
-        Node<E> prev = null;
-
-        while (current != null) {
+        for (Node<E> current = head; current != null; current = current.next) {
             if (current.data.equals(element)) {
-                if (prev == null) {
-                    head = current.next;
-                } else {
-                    prev.next = current.next;
-                }
-                if (current.next == null) {
-                    tail = prev;
-                }
-                size--;
-                return Optional.of(current.data);
+                return Optional.of(unlink(current));
             }
-            prev = current;
-            current = current.next;
         }
         return Optional.empty();
     }
@@ -128,26 +127,55 @@ public class LinkedList<E> implements Insertable<E> {
             throw new IndexOutOfBoundsException(index);
         }
 
-        Optional<E> returnNode;
-        if (index == 0) {
-            returnNode = Optional.of(head.data);
-            head = head.next;
-            if (head == null) {
-                tail = null;
-            }
-        } else {
-            Node<E> current = head;
-            for (int i = 0; i < index - 1; i++) {
-                current = current.next;
-            }
-            returnNode = Optional.of(current.next.data);
-            current.next = current.next.next;
-            if (current.next == null) {
-                tail = current;
+        return Optional.of(unlink(getNodeAt(index)));
+    }
+
+    /**
+     * Removes the first element of the LinkedList.
+     *
+     * @return an {@link Optional} containing the removed element, or an empty
+     * Optional if the LinkedList is empty
+     */
+    public Optional<E> removeFirst() {
+        if (head == null) {
+            return Optional.empty();
+        }
+        return Optional.of(unlink(head));
+    }
+
+    /**
+     * Removes the last element of the LinkedList.
+     *
+     * @return an {@link Optional} containing the removed element, or an empty
+     * Optional if the LinkedList is empty
+     */
+    public Optional<E> removeLast() {
+        if (tail == null) {
+            return Optional.empty();
+        }
+        return Optional.of(unlink(tail));
+    }
+
+    /**
+     * Removes every element of the LinkedList that matches the specified
+     * predicate, in a single pass over the list.
+     *
+     * @param filter the predicate selecting the elements to remove
+     *
+     * @return the number of removed elements
+     */
+    public int removeIf(final Predicate<? super E> filter) {
+        int removed = 0;
+        Node<E> current = head;
+        while (current != null) {
+            Node<E> next = current.next;
+            if (filter.test(current.data)) {
+                unlink(current);
+                removed++;
             }
+            current = next;
         }
-        size--;
-        return returnNode;
+        return removed;
     }
 
     /**
@@ -164,27 +192,93 @@ public class LinkedList<E> implements Insertable<E> {
         return node.data;
     }
 
+    /**
+     * Returns the node at the specified index, walking from the head or the
+     * tail, whichever is nearer.
+     */
     private Node<E> getNodeAt(int index) {
         if (index < 0 || index >= size) {
-            throw new IndexOutOfBoundsException();
+            throw new IndexOutOfBoundsException(index);
         }
 
-        Node<E> current = head;
-        for (int i = 0; i < index; i++) {
-            current = current.next;
+        Node<E> current;
+        if (index < size >> 1) {
+            current = head;
+            for (int i = 0; i < index; i++) {
+                current = current.next;
+            }
+        } else {
+            current = tail;
+            for (int i = size - 1; i > index; i--) {
+                current = current.prev;
+            }
         }
 
         return current;
     }
 
     /**
-     * Clears all elements from this linked list.
+     * Links a new node holding the specified element before the specified
+     * node, or at the end of the list if it is null.
+     */
+    private void linkBefore(final E element, final Node<E> successor) {
+        Node<E> predecessor = successor == null
+                              ? tail
+                              : successor.prev;
+        Node<E> newNode = new Node<>(predecessor, element, successor);
+
+        if (predecessor == null) {
+            head = newNode;
+        } else {
+            predecessor.next = newNode;
+        }
+        if (successor == null) {
+            tail = newNode;
+        } else {
+            successor.prev = newNode;
+        }
+
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Unlinks the specified node from the list.
+     *
+     * @return the element of the node
+     */
+    private E unlink(final Node<E> node) {
+        Node<E> predecessor = node.prev;
+        Node<E> successor = node.next;
+
+        if (predecessor == null) {
+            head = successor;
+        } else {
+            predecessor.next = successor;
+            node.prev = null;
+        }
+        if (successor == null) {
+            tail = predecessor;
+        } else {
+            successor.prev = predecessor;
+            node.next = null;
+        }
+
+        size--;
+        modCount++;
+        return node.data;
+    }
+
+    /**
+     * Clears all elements from this linked list in constant time. The nodes
+     * are left to the garbage collector.
      */
     @Override
     public void clear() {
-        while (!isEmpty()) {
-            removeAt(size() - 1);
-        }
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
     }
 
     /**
@@ -213,6 +307,44 @@ public class LinkedList<E> implements Insertable<E> {
         return new LinkedListIterator<>(this);
     }
 
+    /**
+     * Returns a cursor over the elements of the LinkedList that can insert and
+     * remove elements at its position in constant time.
+     *
+     * @return a cursor positioned before the first element
+     */
+    public ListCursor<E> cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns a spliterator over the elements in the LinkedList. A linked list
+     * cannot be split in the middle without walking to it, so the spliterator
+     * splits off batches instead: every split copies the next elements into
+     * an array, and each batch is larger than the previous one. The array
+     * parts split evenly, so parallel streams scale once the first batches
+     * have been handed out.
+     *
+     * @return a spliterator over the elements in the LinkedList
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new LinkedListSpliterator<>(this);
+    }
+
+    /**
+     * Estimates the memory used by the LinkedList. A linked list has no spare
+     * capacity, every element costs one node with three references.
+     *
+     * @return the memory footprint of the LinkedList
+     */
+    @Override
+    public Footprint footprint() {
+        long shallow = Footprint.objectBytes(2, 2 * Integer.BYTES);
+        long retained = shallow + size * Footprint.objectBytes(3, 0);
+        return new Footprint(shallow, retained, size, size, 0, 0);
+    }
+
     /**
      * @return a string representation of the LinkedList
      */
@@ -236,10 +368,12 @@ public class LinkedList<E> implements Insertable<E> {
 
         private Node<E> current;
         private final LinkedList<E> list;
+        private final int expectedModCount;
 
         public LinkedListIterator(LinkedList<E> list) {
             this.list = list;
             this.current = list.head;
+            this.expectedModCount = list.modCount;
         }
 
         @Override
@@ -247,8 +381,22 @@ public class LinkedList<E> implements Insertable<E> {
             return current != null;
         }
 
+        /**
+         * Returns the next element in the LinkedList and advances the
+         * iterator.
+         *
+         * @return the next element in the LinkedList
+         *
+         * @throws NoSuchElementException          if there are no more
+         *                                         elements to iterate over
+         * @throws ConcurrentModificationException if the LinkedList has been
+         *                                         structurally modified
+         */
         @Override
         public E next() {
+            if (list.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
@@ -262,4 +410,209 @@ public class LinkedList<E> implements Insertable<E> {
             throw new UnsupportedOperationException();
         }
     }
+
+    /**
+     * The LinkedListSpliterator class is a spliterator over the elements in
+     * the LinkedList class that splits off growing batches of elements.
+     */
+    private static final class LinkedListSpliterator<E> implements Spliterator<E> {
+        /**
+         * The size of the first batch, by which every further batch grows
+         */
+        private static final int BATCH_UNIT = 1 << 10;
+
+        /**
+         * The largest size of a batch
+         */
+        private static final int MAXIMUM_BATCH = 1 << 25;
+
+        private final LinkedList<E> list;
+        private final int expectedModCount;
+        private Node<E> current;
+        private int remaining;
+        private int batch;
+
+        private LinkedListSpliterator(final LinkedList<E> list) {
+            this.list = list;
+            this.expectedModCount = list.modCount;
+            this.current = list.head;
+            this.remaining = list.size;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            if (remaining == 0) {
+                return false;
+            }
+
+            checkForComodification();
+            E data = current.data;
+            current = current.next;
+            remaining--;
+            action.accept(data);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            Node<E> node = current;
+            int count = remaining;
+            current = null;
+            remaining = 0;
+            for (; count > 0; count--) {
+                if (node == null) {
+                    throw new ConcurrentModificationException();
+                }
+                action.accept(node.data);
+                node = node.next;
+            }
+            checkForComodification();
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            if (remaining <= 1) {
+                return null;
+            }
+
+            checkForComodification();
+            int length = Math.min(Math.min(batch + BATCH_UNIT, MAXIMUM_BATCH), remaining);
+            Object[] elements = new Object[length];
+            for (int i = 0; i < length; i++) {
+                elements[i] = current.data;
+                current = current.next;
+            }
+            batch = length;
+            remaining -= length;
+            return Spliterators.spliterator(elements, 0, length, Spliterator.ORDERED);
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+
+        private void checkForComodification() {
+            if (list.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * The Cursor class is a fail-fast {@link ListCursor} over the nodes of the
+     * LinkedList class.
+     */
+    private final class Cursor implements ListCursor<E> {
+        /**
+         * The node the cursor is positioned on, or null if it sits in a gap
+         */
+        private Node<E> current;
+
+        /**
+         * The node {@link #advance()} moves to
+         */
+        private Node<E> next = head;
+
+        /**
+         * The node {@link #retreat()} moves to
+         */
+        private Node<E> previous;
+
+        /**
+         * The modification count the LinkedList is expected to have
+         */
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean advance() {
+            checkForComodification();
+            previous = current != null
+                       ? current
+                       : previous;
+            current = next;
+            next = current == null
+                   ? null
+                   : current.next;
+            if (current == null) {
+                previous = tail;
+            }
+            return current != null;
+        }
+
+        @Override
+        public boolean retreat() {
+            checkForComodification();
+            next = current != null
+                   ? current
+                   : next;
+            current = previous;
+            previous = current == null
+                       ? null
+                       : current.prev;
+            if (current == null) {
+                next = head;
+            }
+            return current != null;
+        }
+
+        @Override
+        public E get() {
+            checkPosition();
+            return current.data;
+        }
+
+        @Override
+        public E set(final E element) {
+            checkPosition();
+            E oldElement = current.data;
+            current.data = element;
+            return oldElement;
+        }
+
+        @Override
+        public E remove() {
+            checkPosition();
+            previous = current.prev;
+            next = current.next;
+            E element = unlink(current);
+            current = null;
+            expectedModCount = modCount;
+            return element;
+        }
+
+        @Override
+        public void addBefore(final E element) {
+            checkPosition();
+            linkBefore(element, current);
+            previous = current.prev;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void addAfter(final E element) {
+            checkPosition();
+            linkBefore(element, current.next);
+            next = current.next;
+            expectedModCount = modCount;
+        }
+
+        private void checkPosition() {
+            checkForComodification();
+            if (current == null) {
+                throw new IllegalStateException("The cursor is not positioned on an element");
+            }
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
 }
@@ -0,0 +1,484 @@
+package com.beastlymc.data.lists;
+
+import com.beastlymc.data.common.Footprint;
+import com.beastlymc.data.common.Insertable;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * The UnrolledLinkedList class is a doubly linked list whose nodes each hold a
+ * small array of up to 64 elements instead of a single one. Scanning the list
+ * reads neighbouring elements from the same array, so it touches far fewer
+ * cache lines than a {@link LinkedList}, and the per-node overhead is shared
+ * by all elements of the node.
+ * <p>
+ * Inserting into a full node splits it in two halves, while appending always
+ * fills the last node before starting a new one. A node that drops below a
+ * quarter of its capacity after a removal takes elements from a neighbour, or
+ * is merged with it if both fit into one node, so every node except the last
+ * stays at least a quarter full.
+ * <p>
+ * Its iterators are fail-fast: they throw a
+ * {@link ConcurrentModificationException} if the list is structurally
+ * modified after they were created.
+ *
+ * @param <E> the type of elements stored in the UnrolledLinkedList
+ */
+public class UnrolledLinkedList<E> implements Insertable<E> {
+
+    /**
+     * The largest amount of elements stored in a node.
+     */
+    static final int NODE_CAPACITY = 64;
+
+    /**
+     * The amount of elements below which a node takes elements from or is
+     * merged with a neighbour.
+     */
+    static final int MINIMUM_FILL = NODE_CAPACITY / 4;
+
+    /**
+     * The Node class represents a node in the UnrolledLinkedList, storing up
+     * to {@link #NODE_CAPACITY} elements and references to the previous and
+     * the next node.
+     */
+    private static final class Node {
+        private final Object[] elements = new Object[NODE_CAPACITY];
+        private int count;
+        private Node prev;
+        private Node next;
+    }
+
+    /**
+     * The Position class holds the node containing an element and the offset
+     * of the element within the node, as found by {@link #locate(int)}.
+     */
+    private static final class Position {
+        private final Node node;
+        private final int offset;
+
+        private Position(final Node node, final int offset) {
+            this.node = node;
+            this.offset = offset;
+        }
+    }
+
+    private Node head;
+    private Node tail;
+    private int size;
+
+    /**
+     * The number of nodes in the list
+     */
+    private int nodes;
+
+    /**
+     * The number of structural modifications, which lets iterators detect
+     * concurrent modification.
+     */
+    private int modCount;
+
+    /**
+     * Constructs an empty UnrolledLinkedList.
+     */
+    public UnrolledLinkedList() {
+        this.head = null;
+        this.tail = null;
+        this.size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds the specified element to the end of the UnrolledLinkedList. The
+     * last node is filled completely before a new node is started.
+     *
+     * @param element the element to add to the UnrolledLinkedList
+     */
+    @Override
+    public void add(final E element) {
+        if (tail == null || tail.count == NODE_CAPACITY) {
+            linkAfter(tail);
+        }
+
+        tail.elements[tail.count++] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void insert(final int index, final E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (index == size) {
+            add(element);
+            return;
+        }
+
+        Position position = locate(index);
+        Node node = position.node;
+        int offset = position.offset;
+
+        if (node.count == NODE_CAPACITY) {
+            Node upper = linkAfter(node);
+            int half = NODE_CAPACITY / 2;
+            System.arraycopy(node.elements, half, upper.elements, 0, NODE_CAPACITY - half);
+            Arrays.fill(node.elements, half, NODE_CAPACITY, null);
+            upper.count = NODE_CAPACITY - half;
+            node.count = half;
+            if (offset > half) {
+                node = upper;
+                offset -= half;
+            }
+        }
+
+        System.arraycopy(node.elements, offset, node.elements, offset + 1, node.count - offset);
+        node.elements[offset] = element;
+        node.count++;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Returns the element at the specified index in the UnrolledLinkedList.
+     *
+     * @param index the index of the element to retrieve
+     *
+     * @return the element at the specified index
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public E get(final int index) {
+        checkIndex(index);
+        Position position = locate(index);
+        return elementAt(position.node, position.offset);
+    }
+
+    /**
+     * Replaces the element at the specified index.
+     *
+     * @param index   the index of the element to replace
+     * @param element the element to store at the index
+     *
+     * @return the element previously stored at the index
+     *
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public E set(final int index, final E element) {
+        checkIndex(index);
+        Position position = locate(index);
+
+        E oldElement = elementAt(position.node, position.offset);
+        position.node.elements[position.offset] = element;
+        return oldElement;
+    }
+
+    @Override
+    public Optional<E> remove(final E element) {
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (Objects.equals(node.elements[i], element)) {
+                    return Optional.ofNullable(removeFrom(node, i));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<E> removeAt(final int index) {
+        checkIndex(index);
+        Position position = locate(index);
+        return Optional.ofNullable(removeFrom(position.node, position.offset));
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified element in
+     * the UnrolledLinkedList.
+     *
+     * @param element the element to search for
+     *
+     * @return the index of the first occurrence of the element, or -1 if the
+     * element was not found
+     */
+    public int indexOf(final E element) {
+        int index = 0;
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (Objects.equals(node.elements[i], element)) {
+                    return index + i;
+                }
+            }
+            index += node.count;
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(final E element) {
+        return indexOf(element) != -1;
+    }
+
+    /**
+     * Clears all elements from this list in constant time. The nodes are left
+     * to the garbage collector.
+     */
+    @Override
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+        nodes = 0;
+        modCount++;
+    }
+
+    /**
+     * Performs the specified action for every element in order, reading the
+     * node arrays directly.
+     *
+     * @param action the action to perform for every element
+     *
+     * @throws ConcurrentModificationException if the action structurally
+     *                                         modifies the list
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(final Consumer<? super E> action) {
+        int expectedModCount = modCount;
+        for (Node node = head; node != null; node = node.next) {
+            Object[] elements = node.elements;
+            for (int i = 0, count = node.count; i < count; i++) {
+                action.accept((E) elements[i]);
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new UnrolledLinkedListIterator();
+    }
+
+    /**
+     * Estimates the memory used by the UnrolledLinkedList. Unused slots of the
+     * node arrays count as empty.
+     *
+     * @return the memory footprint of the UnrolledLinkedList
+     */
+    @Override
+    public Footprint footprint() {
+        long capacity = (long) nodes * NODE_CAPACITY;
+        long shallow = Footprint.objectBytes(2, 3 * Integer.BYTES);
+        long nodeBytes = Footprint.objectBytes(3, Integer.BYTES) +
+                         Footprint.arrayBytes(NODE_CAPACITY, Footprint.REFERENCE_BYTES);
+        return new Footprint(shallow, shallow + nodes * nodeBytes, capacity, size, capacity - size, 0);
+    }
+
+    /**
+     * @return a string representation of the UnrolledLinkedList
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("[");
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (builder.length() > 1) {
+                    builder.append(", ");
+                }
+                builder.append(node.elements[i]);
+            }
+        }
+        builder.append("]");
+        return builder.toString();
+    }
+
+    /**
+     * Finds the node holding the element at the specified index, walking from
+     * the head or the tail, whichever is nearer. The list is not modified, so
+     * concurrent reads of an unmodified list stay safe.
+     *
+     * @return the node and the offset of the element within it
+     */
+    private Position locate(final int index) {
+        Node node;
+        int offset;
+        if (index < size >> 1) {
+            node = head;
+            offset = index;
+            while (offset >= node.count) {
+                offset -= node.count;
+                node = node.next;
+            }
+        } else {
+            node = tail;
+            offset = index - (size - tail.count);
+            while (offset < 0) {
+                node = node.prev;
+                offset += node.count;
+            }
+        }
+        return new Position(node, offset);
+    }
+
+    /**
+     * Links a new empty node after the specified node, or as the head if it
+     * is null.
+     *
+     * @return the new node
+     */
+    private Node linkAfter(final Node predecessor) {
+        Node node = new Node();
+        node.prev = predecessor;
+        if (predecessor == null) {
+            node.next = head;
+            head = node;
+        } else {
+            node.next = predecessor.next;
+            predecessor.next = node;
+        }
+        if (node.next == null) {
+            tail = node;
+        } else {
+            node.next.prev = node;
+        }
+        nodes++;
+        return node;
+    }
+
+    private void unlink(final Node node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        nodes--;
+    }
+
+    /**
+     * Removes the element at the specified offset of the specified node and
+     * rebalances the node if it has become too small.
+     *
+     * @return the removed element
+     */
+    private E removeFrom(final Node node, final int offset) {
+        E element = elementAt(node, offset);
+        System.arraycopy(node.elements, offset + 1, node.elements, offset, node.count - offset - 1);
+        node.elements[--node.count] = null;
+        size--;
+        modCount++;
+
+        if (node.count == 0) {
+            unlink(node);
+        } else if (node.count < MINIMUM_FILL) {
+            if (node.next != null) {
+                rebalance(node, node.next);
+            } else if (node.prev != null) {
+                rebalance(node.prev, node);
+            }
+        }
+        return element;
+    }
+
+    /**
+     * Merges two adjacent nodes if their elements fit into one node, and
+     * otherwise moves elements from the fuller to the emptier node until both
+     * hold about the same amount.
+     */
+    private void rebalance(final Node left, final Node right) {
+        if (left.count + right.count <= NODE_CAPACITY) {
+            System.arraycopy(right.elements, 0, left.elements, left.count, right.count);
+            left.count += right.count;
+            unlink(right);
+            return;
+        }
+
+        if (left.count > right.count) {
+            int moved = (left.count - right.count) / 2;
+            System.arraycopy(right.elements, 0, right.elements, moved, right.count);
+            System.arraycopy(left.elements, left.count - moved, right.elements, 0, moved);
+            Arrays.fill(left.elements, left.count - moved, left.count, null);
+            left.count -= moved;
+            right.count += moved;
+        } else {
+            int moved = (right.count - left.count) / 2;
+            System.arraycopy(right.elements, 0, left.elements, left.count, moved);
+            System.arraycopy(right.elements, moved, right.elements, 0, right.count - moved);
+            Arrays.fill(right.elements, right.count - moved, right.count, null);
+            left.count += moved;
+            right.count -= moved;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(final Node node, final int offset) {
+        return (E) node.elements[offset];
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+
+    /**
+     * The UnrolledLinkedListIterator class is a fail-fast iterator over the
+     * elements in the UnrolledLinkedList class.
+     */
+    private class UnrolledLinkedListIterator implements Iterator<E> {
+        private Node node = head;
+        private int offset;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return node != null;
+        }
+
+        /**
+         * Returns the next element in the UnrolledLinkedList and advances the
+         * iterator.
+         *
+         * @return the next element in the UnrolledLinkedList
+         *
+         * @throws NoSuchElementException          if there are no more
+         *                                         elements to iterate over
+         * @throws ConcurrentModificationException if the UnrolledLinkedList
+         *                                         has been structurally
+         *                                         modified
+         */
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            E element = elementAt(node, offset);
+            if (++offset == node.count) {
+                node = node.next;
+                offset = 0;
+            }
+            return element;
+        }
+    }
+}
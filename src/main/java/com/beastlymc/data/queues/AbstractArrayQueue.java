@@ -0,0 +1,344 @@
+package com.beastlymc.data.queues;
+
+import com.beastlymc.data.common.Footprint;
+import com.beastlymc.data.common.Pushable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The AbstractArrayQueue class is the base class of the bounded First-In-
+ * First-Out (FIFO) queues that store their elements in a ring buffer, such as
+ * {@link SpscArrayQueue}. The capacity is rounded up to a power of two, so a
+ * slot is found by masking an ever increasing index, and the producer and
+ * consumer index live on cache lines of their own.
+ * <p>
+ * {@link #offer(Object)} and {@link #poll()} never allocate. The methods of
+ * {@link Pushable} are built on them: {@link #push(Object)} throws an
+ * {@link IllegalStateException} if the queue is full, and {@link #pop()} and
+ * {@link #peek()} wrap the element in an {@link Optional}.
+ * {@link #drain(Consumer, int)} and {@link #fill(Supplier, int)} move many
+ * elements in one call.
+ * <p>
+ * {@link #size()}, {@link #contains(Object)} and the iterator are weakly
+ * consistent and may run concurrently with producers and consumers. Null
+ * elements are not permitted.
+ *
+ * @param <E> the type of elements stored in the queue
+ */
+public abstract class AbstractArrayQueue<E> extends PaddedIndices.RightPad implements Pushable<E> {
+
+    /**
+     * The largest capacity of a queue.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Accesses the slots of the ring buffer with memory ordering semantics.
+     */
+    protected static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    /**
+     * Published in a claimed slot whose element the supplier of
+     * {@link #fill(Supplier, int)} failed to provide. Consumers remove it like
+     * an element but never return it, so a failed supplier cannot leave a
+     * claimed slot empty forever. Until then it counts towards
+     * {@link #size()}.
+     */
+    protected static final Object SKIPPED = new Object();
+
+    /**
+     * The ring buffer holding the elements.
+     */
+    protected final Object[] buffer;
+
+    /**
+     * The capacity minus one, used to map an index to a slot.
+     */
+    protected final int mask;
+
+    /**
+     * Constructs a new queue that holds at least the specified amount of
+     * elements.
+     *
+     * @param capacity the minimum capacity, rounded up to a power of two
+     *
+     * @throws IllegalArgumentException if the capacity is not positive or
+     *                                  larger than 2^30
+     */
+    protected AbstractArrayQueue(final int capacity) {
+        if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+
+        int length = Integer.highestOneBit(capacity);
+        if (length < capacity) {
+            length <<= 1;
+        }
+        buffer = new Object[length];
+        mask = length - 1;
+    }
+
+    /**
+     * Adds the specified element to the back of the queue if there is room
+     * for it.
+     *
+     * @param element the element to add
+     *
+     * @return true if the element was added, false if the queue is full
+     *
+     * @throws NullPointerException if the element is null
+     */
+    public abstract boolean offer(final E element);
+
+    /**
+     * Removes and returns the element at the front of the queue.
+     *
+     * @return the element at the front of the queue, or null if the queue is
+     * empty
+     */
+    public abstract E poll();
+
+    /**
+     * Returns the element at the front of the queue without removing it.
+     *
+     * @return the element at the front of the queue, or null if the queue is
+     * empty
+     */
+    protected abstract E front();
+
+    /**
+     * Adds up to the specified amount of elements taken from the supplier to
+     * the back of the queue, stopping early once the queue is full. If the
+     * supplier returns null or throws an exception, the elements added before
+     * stay in the queue and the exception is rethrown, a
+     * {@link NullPointerException} for null.
+     *
+     * @param supplier supplies the elements to add
+     * @param limit    the largest amount of elements to add
+     *
+     * @return the amount of elements added
+     *
+     * @throws NullPointerException if the supplier returns null
+     */
+    public abstract int fill(final Supplier<? extends E> supplier, final int limit);
+
+    /**
+     * Removes up to the specified amount of elements from the front of the
+     * queue and passes them to the consumer in order, stopping early once the
+     * queue is empty.
+     *
+     * @param consumer receives the removed elements
+     * @param limit    the largest amount of elements to remove
+     *
+     * @return the amount of elements removed
+     */
+    public int drain(final Consumer<? super E> consumer, final int limit) {
+        int count = 0;
+        while (count < limit) {
+            E element = poll();
+            if (element == null) {
+                break;
+            }
+            consumer.accept(element);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Adds the specified element to the back of the queue.
+     *
+     * @param element the element to add
+     *
+     * @throws IllegalStateException if the queue is full
+     * @throws NullPointerException  if the element is null
+     */
+    @Override
+    public void push(final E element) {
+        if (!offer(element)) {
+            throw new IllegalStateException(getClass().getSimpleName() + " is full");
+        }
+    }
+
+    @Override
+    public Optional<E> pop() {
+        return Optional.ofNullable(poll());
+    }
+
+    @Override
+    public Optional<E> peek() {
+        return Optional.ofNullable(front());
+    }
+
+    /**
+     * Returns the amount of elements the queue can hold.
+     *
+     * @return the capacity of the queue
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Returns the number of elements in the queue, which may already be
+     * outdated when it is returned.
+     *
+     * @return the number of elements in the queue
+     */
+    @Override
+    public int size() {
+        while (true) {
+            long consumer = consumerIndex();
+            long producer = producerIndex();
+            if (consumer == consumerIndex()) {
+                return (int) Math.max(0, Math.min(producer - consumer, buffer.length));
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return producerIndex() == consumerIndex();
+    }
+
+    /**
+     * Removes all elements from the queue. Must only be called by a thread
+     * that is allowed to consume.
+     */
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // Keep polling until the queue is empty.
+        }
+    }
+
+    @Override
+    public boolean contains(final E element) {
+        if (element == null) {
+            return false;
+        }
+
+        for (E current : this) {
+            if (element.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements in the queue,
+     * from the front to the back. Elements consumed during the iteration may
+     * be skipped.
+     *
+     * @return an iterator over the elements in the queue
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new ArrayQueueIterator();
+    }
+
+    /**
+     * Returns a weakly consistent spliterator over the elements in the queue.
+     *
+     * @return a spliterator over the elements in the queue
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL |
+                                                               Spliterator.CONCURRENT);
+    }
+
+    /**
+     * Estimates the memory used by the queue, including the padding around
+     * its indices.
+     *
+     * @return the memory footprint of the queue
+     */
+    @Override
+    public Footprint footprint() {
+        int size = size();
+        long shallow = Footprint.objectBytes(1, 26 * Long.BYTES + Integer.BYTES);
+        long retained = shallow + Footprint.arrayBytes(buffer.length, Footprint.REFERENCE_BYTES);
+        return new Footprint(shallow, retained, buffer.length, size, buffer.length - size, 0);
+    }
+
+    /**
+     * @return a string representation of the queue
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("[");
+        for (E element : this) {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(element);
+        }
+        builder.append("]");
+        return builder.toString();
+    }
+
+    /**
+     * Returns the slot of the ring buffer holding the specified index.
+     *
+     * @param index the index
+     *
+     * @return the position in the buffer
+     */
+    protected final int slot(final long index) {
+        return (int) index & mask;
+    }
+
+    /**
+     * The ArrayQueueIterator class is a weakly consistent iterator over the
+     * elements in the AbstractArrayQueue class. It walks from the consumer
+     * index to the producer index read at creation and skips empty slots.
+     */
+    private final class ArrayQueueIterator implements Iterator<E> {
+        private final long end = producerIndex();
+        private long index = consumerIndex();
+        private E nextElement;
+
+        ArrayQueueIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextElement != null;
+        }
+
+        @Override
+        public E next() {
+            if (nextElement == null) {
+                throw new NoSuchElementException();
+            }
+
+            E element = nextElement;
+            advance();
+            return element;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            nextElement = null;
+            index = Math.max(index, consumerIndex());
+            while (index < end && nextElement == null) {
+                Object element = SLOTS.getAcquire(buffer, slot(index++));
+                if (element != SKIPPED) {
+                    nextElement = (E) element;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.beastlymc.data.queues;
+
+import com.beastlymc.data.common.Footprint;
+import com.beastlymc.data.common.Pushable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * A thread-safe, lock-free First-In-First-Out (FIFO) queue based on the
+ * algorithm of Michael and Scott.
+ * <p>
+ * The queue is a singly linked list that always starts with a sentinel node.
+ * Producers append a node by swinging the {@code next} link of the last node
+ * with a compare-and-set, consumers remove one by swinging the head to the
+ * first real node, and every thread that finds the tail lagging behind helps
+ * to advance it. No thread ever blocks another, so any number of producers
+ * and consumers can use the queue at the same time without an outer lock.
+ * <p>
+ * {@link #size()}, {@link #contains(Object)} and the iterator traverse the
+ * list and are weakly consistent: they reflect some state of the queue during
+ * the traversal, and {@link #size()} takes linear time. Null elements are not
+ * permitted.
+ *
+ * @param <E> the type of elements stored in the ConcurrentQueue
+ */
+public class ConcurrentQueue<E> implements Pushable<E> {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle ITEM;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(ConcurrentQueue.class, "head", Node.class);
+            TAIL = lookup.findVarHandle(ConcurrentQueue.class, "tail", Node.class);
+            ITEM = lookup.findVarHandle(Node.class, "item", Object.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * The Node class represents a node in the ConcurrentQueue. The item of the
+     * sentinel node is always null.
+     */
+    private static final class Node {
+        volatile Object item;
+        volatile Node next;
+
+        Node(final Object item) {
+            ITEM.set(this, item);
+        }
+    }
+
+    /**
+     * The sentinel node, whose successor holds the first element.
+     */
+    private volatile Node head;
+
+    /**
+     * The last node or, while an append is in progress, its predecessor.
+     */
+    private volatile Node tail;
+
+    /**
+     * Constructs an empty ConcurrentQueue.
+     */
+    public ConcurrentQueue() {
+        Node sentinel = new Node(null);
+        head = sentinel;
+        tail = sentinel;
+    }
+
+    /**
+     * Adds the specified element to the back of the queue.
+     *
+     * @param element the element to add to the queue
+     *
+     * @throws NullPointerException if the element is null
+     */
+    @Override
+    public void push(final E element) {
+        Objects.requireNonNull(element);
+        Node node = new Node(element);
+
+        while (true) {
+            Node last = tail;
+            Node next = last.next;
+            if (last != tail) {
+                continue;
+            }
+
+            if (next == null) {
+                if (NEXT.compareAndSet(last, null, node)) {
+                    TAIL.compareAndSet(this, last, node);
+                    return;
+                }
+            } else {
+                TAIL.compareAndSet(this, last, next);
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue.
+     *
+     * @return an {@link Optional} containing the element at the front of the
+     * queue, or {@link Optional#empty()} if the queue is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<E> pop() {
+        while (true) {
+            Node first = head;
+            Node last = tail;
+            Node next = first.next;
+            if (first != head) {
+                continue;
+            }
+
+            if (next == null) {
+                return Optional.empty();
+            }
+            if (first == last) {
+                TAIL.compareAndSet(this, last, next);
+                continue;
+            }
+
+            Object item = next.item;
+            if (HEAD.compareAndSet(this, first, next)) {
+                // The successor becomes the new sentinel, which must not keep
+                // the element reachable. The old sentinel links to itself so
+                // that it no longer retains the rest of the list.
+                ITEM.setRelease(next, null);
+                NEXT.setRelease(first, first);
+                return Optional.of((E) item);
+            }
+        }
+    }
+
+    /**
+     * Returns the element at the front of the queue without removing it.
+     *
+     * @return an {@link Optional} containing the element at the front of the
+     * queue, or {@link Optional#empty()} if the queue is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<E> peek() {
+        while (true) {
+            Node first = head;
+            Node next = first.next;
+            if (next == null) {
+                return Optional.empty();
+            }
+
+            Object item = next.item;
+            if (item != null && first == head) {
+                return Optional.of((E) item);
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head.next == null;
+    }
+
+    /**
+     * Returns the number of elements in the queue. The queue is traversed, so
+     * this takes linear time, and the result may already be outdated when it
+     * is returned.
+     *
+     * @return the number of elements in the queue
+     */
+    @Override
+    public int size() {
+        int count = 0;
+        for (Node node = first(); node != null; node = successor(node)) {
+            if (node.item != null && ++count == Integer.MAX_VALUE) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Removes all elements from the queue. Elements pushed concurrently may or
+     * may not be removed.
+     */
+    @Override
+    public void clear() {
+        while (pop().isPresent()) {
+            // Keep popping until the queue is empty.
+        }
+    }
+
+    @Override
+    public boolean contains(final E element) {
+        if (element == null) {
+            return false;
+        }
+
+        for (Node node = first(); node != null; node = successor(node)) {
+            if (element.equals(node.item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the elements in the queue,
+     * from the front to the back. It never throws a
+     * {@link java.util.ConcurrentModificationException}.
+     *
+     * @return an iterator over the elements in the queue
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new ConcurrentQueueIterator();
+    }
+
+    /**
+     * Returns a weakly consistent spliterator over the elements in the queue.
+     * The size of a concurrent queue is not known in advance, so it is not
+     * reported.
+     *
+     * @return a spliterator over the elements in the queue
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL |
+                                                               Spliterator.CONCURRENT);
+    }
+
+    /**
+     * Estimates the memory used by the queue. Every element costs one node,
+     * and the sentinel node is counted as overhead.
+     *
+     * @return the memory footprint of the queue
+     */
+    @Override
+    public Footprint footprint() {
+        int size = size();
+        long shallow = Footprint.objectBytes(2, 0);
+        long node = Footprint.objectBytes(2, 0);
+        return new Footprint(shallow, shallow + (size + 1L) * node, size, size, 0, 0);
+    }
+
+    /**
+     * @return a string representation of the queue
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("[");
+        for (E element : this) {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(element);
+        }
+        builder.append("]");
+        return builder.toString();
+    }
+
+    /**
+     * @return the first node that may hold an element, or null if the queue
+     * is empty
+     */
+    private Node first() {
+        return head.next;
+    }
+
+    /**
+     * Returns the node following the specified one. If the node has already
+     * been removed from the queue, the traversal continues at the front.
+     */
+    private Node successor(final Node node) {
+        Node next = node.next;
+        return next == node
+               ? first()
+               : next;
+    }
+
+    /**
+     * The ConcurrentQueueIterator class is a weakly consistent iterator over
+     * the elements in the ConcurrentQueue class. It looks one element ahead,
+     * so an element it has announced with {@link #hasNext()} is returned even
+     * if it is popped in the meantime.
+     */
+    private final class ConcurrentQueueIterator implements Iterator<E> {
+        private Node node;
+        private E nextItem;
+
+        ConcurrentQueueIterator() {
+            advance(first());
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextItem != null;
+        }
+
+        @Override
+        public E next() {
+            if (nextItem == null) {
+                throw new NoSuchElementException();
+            }
+
+            E item = nextItem;
+            advance(successor(node));
+            return item;
+        }
+
+        /**
+         * Moves to the first node at or after the specified one that holds an
+         * element.
+         */
+        @SuppressWarnings("unchecked")
+        private void advance(final Node start) {
+            for (Node current = start; current != null; current = successor(current)) {
+                Object item = current.item;
+                if (item != null) {
+                    node = current;
+                    nextItem = (E) item;
+                    return;
+                }
+            }
+            node = null;
+            nextItem = null;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.beastlymc.data.queues;
+
+import com.beastlymc.data.common.Footprint;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A bounded First-In-First-Out (FIFO) queue for any number of producer and
+ * consumer threads, stored in a ring buffer, based on the algorithm of
+ * Vyukov.
+ * <p>
+ * Every slot has a sequence number next to it. A slot is free for the
+ * producer index {@code i} once its sequence equals {@code i}, and holds the
+ * element for the consumer index {@code i} once its sequence equals
+ * {@code i + 1}. Producers and consumers claim a slot by advancing their index
+ * with a compare-and-set and hand it over to the other side by releasing the
+ * next sequence number, so a thread only waits for another one if that thread
+ * has claimed a slot but not yet handed it over.
+ *
+ * @param <E> the type of elements stored in the MpmcArrayQueue
+ */
+public class MpmcArrayQueue<E> extends AbstractArrayQueue<E> {
+
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * The sequence number of every slot.
+     */
+    private final long[] sequences;
+
+    /**
+     * Constructs an empty MpmcArrayQueue that holds at least the specified
+     * amount of elements.
+     *
+     * @param capacity the minimum capacity, rounded up to a power of two
+     *
+     * @throws IllegalArgumentException if the capacity is not positive or
+     *                                  larger than 2^30
+     */
+    public MpmcArrayQueue(final int capacity) {
+        super(capacity);
+        sequences = new long[buffer.length];
+        for (int i = 0; i < sequences.length; i++) {
+            sequences[i] = i;
+        }
+    }
+
+    @Override
+    public boolean offer(final E element) {
+        Objects.requireNonNull(element);
+        while (true) {
+            long index = producerIndex();
+            int slot = slot(index);
+            long difference = (long) SEQUENCES.getAcquire(sequences, slot) - index;
+            if (difference == 0) {
+                if (casProducerIndex(index, index + 1)) {
+                    SLOTS.setRelease(buffer, slot, element);
+                    SEQUENCES.setRelease(sequences, slot, index + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                // The slot still holds the element written one lap ago. The
+                // queue is full unless a consumer has already claimed it.
+                if (index - consumerIndex() >= buffer.length) {
+                    return false;
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        while (true) {
+            long index = consumerIndex();
+            int slot = slot(index);
+            long difference = (long) SEQUENCES.getAcquire(sequences, slot) - (index + 1);
+            if (difference == 0) {
+                if (casConsumerIndex(index, index + 1)) {
+                    Object element = SLOTS.get(buffer, slot);
+                    SLOTS.set(buffer, slot, null);
+                    SEQUENCES.setRelease(sequences, slot, index + buffer.length);
+                    if (element != SKIPPED) {
+                        return (E) element;
+                    }
+                }
+            } else if (difference < 0) {
+                // The slot has not been filled yet. The queue is empty unless
+                // a producer has already claimed it.
+                if (index == producerIndex()) {
+                    return null;
+                }
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Returns the element at the front of the queue without removing it. A
+     * concurrent consumer may remove the element at any time, so the result
+     * is only a hint.
+     *
+     * @return the element at the front of the queue, or null if the queue is
+     * empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected E front() {
+        while (true) {
+            long first = consumerIndex();
+            for (long index = first; ; index++) {
+                int slot = slot(index);
+                if ((long) SEQUENCES.getAcquire(sequences, slot) != index + 1) {
+                    if (index >= producerIndex()) {
+                        return null;
+                    }
+                    // A producer has claimed the slot but not yet published
+                    // its element, or a consumer has moved past it.
+                    Thread.onSpinWait();
+                    break;
+                }
+
+                Object element = SLOTS.getAcquire(buffer, slot);
+                if (element != SKIPPED) {
+                    if (element != null && first == consumerIndex()) {
+                        return (E) element;
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds up to the specified amount of elements taken from the supplier to
+     * the back of the queue, stopping early once the queue is full. Every slot
+     * is claimed before the supplier is called. If the supplier returns null
+     * or throws an exception, consumers skip the claimed slot and the
+     * exception is rethrown, a {@link NullPointerException} for null.
+     *
+     * @param supplier supplies the elements to add
+     * @param limit    the largest amount of elements to add
+     *
+     * @return the amount of elements added
+     *
+     * @throws NullPointerException if the supplier returns null
+     */
+    @Override
+    public int fill(final Supplier<? extends E> supplier, final int limit) {
+        int count = 0;
+        while (count < limit) {
+            long index = producerIndex();
+            int slot = slot(index);
+            long difference = (long) SEQUENCES.getAcquire(sequences, slot) - index;
+            if (difference == 0) {
+                if (casProducerIndex(index, index + 1)) {
+                    Object element = SKIPPED;
+                    try {
+                        element = Objects.requireNonNull(supplier.get());
+                    } finally {
+                        SLOTS.setRelease(buffer, slot, element);
+                        SEQUENCES.setRelease(sequences, slot, index + 1);
+                    }
+                    count++;
+                }
+            } else if (difference < 0) {
+                if (index - consumerIndex() >= buffer.length) {
+                    break;
+                }
+                Thread.onSpinWait();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Estimates the memory used by the queue, including the padding around
+     * its indices and the sequence numbers.
+     *
+     * @return the memory footprint of the queue
+     */
+    @Override
+    public Footprint footprint() {
+        int size = size();
+        long shallow = Footprint.objectBytes(2, 26 * Long.BYTES + Integer.BYTES);
+        long retained = shallow + Footprint.arrayBytes(buffer.length, Footprint.REFERENCE_BYTES) +
+                        Footprint.arrayBytes(sequences.length, Long.BYTES);
+        return new Footprint(shallow, retained, buffer.length, size, buffer.length - size, 0);
+    }
+}
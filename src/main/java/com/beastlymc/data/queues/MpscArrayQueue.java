@@ -0,0 +1,136 @@
+package com.beastlymc.data.queues;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A bounded First-In-First-Out (FIFO) queue for any number of producer
+ * threads and exactly one consumer thread, stored in a ring buffer.
+ * <p>
+ * Producers claim a slot by advancing the producer index with a
+ * compare-and-set and then publish the element in it with release semantics.
+ * Between the two steps the slot is claimed but still empty, so the consumer
+ * briefly spins when it finds an empty slot below the producer index. The
+ * consumer owns the consumer index and advances it without a compare-and-set.
+ * <p>
+ * Calling {@link #poll()}, {@link #pop()},
+ * {@link #drain(java.util.function.Consumer, int)} or {@link #clear()} from
+ * more than one thread corrupts the queue.
+ *
+ * @param <E> the type of elements stored in the MpscArrayQueue
+ */
+public class MpscArrayQueue<E> extends AbstractArrayQueue<E> {
+
+    /**
+     * Constructs an empty MpscArrayQueue that holds at least the specified
+     * amount of elements.
+     *
+     * @param capacity the minimum capacity, rounded up to a power of two
+     *
+     * @throws IllegalArgumentException if the capacity is not positive or
+     *                                  larger than 2^30
+     */
+    public MpscArrayQueue(final int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    public boolean offer(final E element) {
+        Objects.requireNonNull(element);
+        while (true) {
+            long index = producerIndex();
+            if (index - consumerIndex() >= buffer.length) {
+                return false;
+            }
+            if (casProducerIndex(index, index + 1)) {
+                SLOTS.setRelease(buffer, slot(index), element);
+                return true;
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        while (true) {
+            long index = plainConsumerIndex();
+            int slot = slot(index);
+            Object element = SLOTS.getAcquire(buffer, slot);
+            if (element == null) {
+                if (index == producerIndex()) {
+                    return null;
+                }
+                // A producer has claimed the slot but not yet published its
+                // element, which it is about to do.
+                do {
+                    Thread.onSpinWait();
+                    element = SLOTS.getAcquire(buffer, slot);
+                } while (element == null);
+            }
+
+            SLOTS.setRelease(buffer, slot, null);
+            releaseConsumerIndex(index + 1);
+            if (element != SKIPPED) {
+                return (E) element;
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected E front() {
+        long end = producerIndex();
+        for (long index = consumerIndex(); index < end; index++) {
+            Object element = SLOTS.getAcquire(buffer, slot(index));
+            if (element != SKIPPED) {
+                return (E) element;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds up to the specified amount of elements taken from the supplier to
+     * the back of the queue, stopping early once the queue is full. All slots
+     * there is room for are claimed with a single compare-and-set before the
+     * supplier is called. If the supplier returns null or throws an exception,
+     * the slots claimed for the rest of the batch are skipped by the consumer
+     * and the exception is rethrown, a {@link NullPointerException} for null.
+     *
+     * @param supplier supplies the elements to add
+     * @param limit    the largest amount of elements to add
+     *
+     * @return the amount of elements added
+     *
+     * @throws NullPointerException if the supplier returns null
+     */
+    @Override
+    public int fill(final Supplier<? extends E> supplier, final int limit) {
+        if (limit <= 0) {
+            return 0;
+        }
+
+        long start;
+        int count;
+        do {
+            start = producerIndex();
+            long free = buffer.length - (start - consumerIndex());
+            if (free <= 0) {
+                return 0;
+            }
+            count = (int) Math.min(free, limit);
+        } while (!casProducerIndex(start, start + count));
+
+        int published = 0;
+        try {
+            for (; published < count; published++) {
+                SLOTS.setRelease(buffer, slot(start + published), Objects.requireNonNull(supplier.get()));
+            }
+        } finally {
+            for (int i = published; i < count; i++) {
+                SLOTS.setRelease(buffer, slot(start + i), SKIPPED);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,113 @@
+package com.beastlymc.data.queues;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Holds the producer and consumer index of the ring-buffer queues, each on a
+ * cache line of its own. Producers and consumers write different indices;
+ * without padding both would share a cache line, and every write by one side
+ * would invalidate the line in the caches of the other side, which is known
+ * as false sharing.
+ * <p>
+ * Java offers no portable way to align a field, so the indices are separated
+ * by classes holding unused {@code long} fields. The virtual machine lays out
+ * the fields of a superclass before those of its subclasses, so every index
+ * ends up with at least 56 bytes of padding on both sides.
+ */
+final class PaddedIndices {
+
+    private PaddedIndices() {
+    }
+
+    /**
+     * Separates the producer index from the object header and whatever
+     * precedes the queue in memory.
+     */
+    abstract static class LeftPad {
+        long p00, p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    /**
+     * Holds the index of the next slot a producer writes to.
+     */
+    abstract static class ProducerIndex extends LeftPad {
+        private static final VarHandle PRODUCER_INDEX;
+
+        static {
+            try {
+                PRODUCER_INDEX = MethodHandles.lookup().findVarHandle(ProducerIndex.class, "producerIndex",
+                                                                      long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile long producerIndex;
+
+        final long producerIndex() {
+            return producerIndex;
+        }
+
+        final long plainProducerIndex() {
+            return (long) PRODUCER_INDEX.get(this);
+        }
+
+        final void releaseProducerIndex(final long index) {
+            PRODUCER_INDEX.setRelease(this, index);
+        }
+
+        final boolean casProducerIndex(final long expected, final long index) {
+            return PRODUCER_INDEX.compareAndSet(this, expected, index);
+        }
+    }
+
+    /**
+     * Separates the producer index from the consumer index.
+     */
+    abstract static class MiddlePad extends ProducerIndex {
+        long p10, p11, p12, p13, p14, p15, p16, p17;
+    }
+
+    /**
+     * Holds the index of the next slot a consumer reads from.
+     */
+    abstract static class ConsumerIndex extends MiddlePad {
+        private static final VarHandle CONSUMER_INDEX;
+
+        static {
+            try {
+                CONSUMER_INDEX = MethodHandles.lookup().findVarHandle(ConsumerIndex.class, "consumerIndex",
+                                                                      long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile long consumerIndex;
+
+        final long consumerIndex() {
+            return consumerIndex;
+        }
+
+        final long plainConsumerIndex() {
+            return (long) CONSUMER_INDEX.get(this);
+        }
+
+        final void releaseConsumerIndex(final long index) {
+            CONSUMER_INDEX.setRelease(this, index);
+        }
+
+        final boolean casConsumerIndex(final long expected, final long index) {
+            return CONSUMER_INDEX.compareAndSet(this, expected, index);
+        }
+    }
+
+    /**
+     * Separates the consumer index from the fields of the queue, which are
+     * only read after construction.
+     */
+    abstract static class RightPad extends ConsumerIndex {
+        long p20, p21, p22, p23, p24, p25, p26, p27;
+    }
+}
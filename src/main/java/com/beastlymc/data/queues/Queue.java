@@ -1,10 +1,12 @@
 package com.beastlymc.data.queues;
 
+import com.beastlymc.data.common.Footprint;
 import com.beastlymc.data.common.Pushable;
 import com.beastlymc.data.lists.LinkedList;
 
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.Spliterator;
 
 /**
  * The Queue class represents a First-In-First-Out (FIFO) queue data structure
@@ -105,6 +107,30 @@ public class Queue<E> implements Pushable<E> {
         return list.iterator();
     }
 
+    /**
+     * Returns a spliterator over the elements in the Queue, from the top to
+     * the bottom, that splits the underlying list in batches.
+     *
+     * @return a spliterator over the elements in the Queue
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return list.spliterator();
+    }
+
+    /**
+     * Estimates the memory used by the Queue and its underlying list.
+     *
+     * @return the memory footprint of the Queue
+     */
+    @Override
+    public Footprint footprint() {
+        Footprint listFootprint = list.footprint();
+        long shallow = Footprint.objectBytes(1, 0);
+        return new Footprint(shallow, shallow + listFootprint.getRetainedBytes(), listFootprint.getCapacity(),
+                             listFootprint.getSize(), listFootprint.getEmptySlots(), 0);
+    }
+
     /**
      * @return a string representation of the Queue
      */
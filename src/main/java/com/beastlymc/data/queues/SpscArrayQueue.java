@@ -0,0 +1,100 @@
+package com.beastlymc.data.queues;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A bounded First-In-First-Out (FIFO) queue for exactly one producer thread
+ * and one consumer thread, stored in a ring buffer.
+ * <p>
+ * A slot is free while it holds null. The producer publishes an element by
+ * writing its slot with release semantics and the consumer frees the slot the
+ * same way after reading it, so neither side ever reads the index of the
+ * other. Both indices are only written by their owner, so no compare-and-set
+ * is needed at all.
+ * <p>
+ * Calling {@link #offer(Object)}, {@link #push(Object)} or
+ * {@link #fill(Supplier, int)} from more than one thread, or
+ * {@link #poll()}, {@link #pop()}, {@link #drain(java.util.function.Consumer, int)}
+ * or {@link #clear()} from more than one thread, corrupts the queue.
+ *
+ * @param <E> the type of elements stored in the SpscArrayQueue
+ */
+public class SpscArrayQueue<E> extends AbstractArrayQueue<E> {
+
+    /**
+     * Constructs an empty SpscArrayQueue that holds at least the specified
+     * amount of elements.
+     *
+     * @param capacity the minimum capacity, rounded up to a power of two
+     *
+     * @throws IllegalArgumentException if the capacity is not positive or
+     *                                  larger than 2^30
+     */
+    public SpscArrayQueue(final int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    public boolean offer(final E element) {
+        Objects.requireNonNull(element);
+        long index = plainProducerIndex();
+        int slot = slot(index);
+        if (SLOTS.getAcquire(buffer, slot) != null) {
+            return false;
+        }
+
+        SLOTS.setRelease(buffer, slot, element);
+        releaseProducerIndex(index + 1);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long index = plainConsumerIndex();
+        int slot = slot(index);
+        Object element = SLOTS.getAcquire(buffer, slot);
+        if (element == null) {
+            return null;
+        }
+
+        SLOTS.setRelease(buffer, slot, null);
+        releaseConsumerIndex(index + 1);
+        return (E) element;
+    }
+
+    @Override
+    protected E front() {
+        return (E) SLOTS.getAcquire(buffer, slot(consumerIndex()));
+    }
+
+    /**
+     * Adds up to the specified amount of elements taken from the supplier to
+     * the back of the queue, stopping early once the queue is full. The
+     * supplier is only called when there is room for its element.
+     *
+     * @param supplier supplies the elements to add
+     * @param limit    the largest amount of elements to add
+     *
+     * @return the amount of elements added
+     *
+     * @throws NullPointerException if the supplier returns null
+     */
+    @Override
+    public int fill(final Supplier<? extends E> supplier, final int limit) {
+        long index = plainProducerIndex();
+        int count = 0;
+        while (count < limit) {
+            int slot = slot(index);
+            if (SLOTS.getAcquire(buffer, slot) != null) {
+                break;
+            }
+
+            SLOTS.setRelease(buffer, slot, Objects.requireNonNull(supplier.get()));
+            releaseProducerIndex(++index);
+            count++;
+        }
+        return count;
+    }
+}
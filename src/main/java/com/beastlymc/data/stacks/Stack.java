@@ -1,10 +1,12 @@
 package com.beastlymc.data.stacks;
 
 import com.beastlymc.data.arrays.Array;
+import com.beastlymc.data.common.Footprint;
 import com.beastlymc.data.common.Pushable;
 
 import java.util.Iterator;
 import java.util.Optional;
+import java.util.Spliterator;
 
 /**
  * The Stack class represents a Last-In-First-Out (LIFO) stack data structure
@@ -140,6 +142,30 @@ public class Stack<E> implements Pushable<E> {
         return data.iterator();
     }
 
+    /**
+     * Returns a spliterator over the elements in the Stack, from the top to
+     * the bottom, that splits the underlying array.
+     *
+     * @return a spliterator over the elements in the Stack
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return data.spliterator();
+    }
+
+    /**
+     * Estimates the memory used by the Stack and its underlying array.
+     *
+     * @return the memory footprint of the Stack
+     */
+    @Override
+    public Footprint footprint() {
+        Footprint dataFootprint = data.footprint();
+        long shallow = Footprint.objectBytes(1, Integer.BYTES);
+        return new Footprint(shallow, shallow + dataFootprint.getRetainedBytes(), dataFootprint.getCapacity(),
+                             dataFootprint.getSize(), dataFootprint.getEmptySlots(), 0);
+    }
+
     /**
      * @return a string representation of the Stack
      */
@@ -3,6 +3,9 @@ package com.beastlymc.data.arrays;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -196,4 +199,74 @@ class AbstractArrayTest {
         assertEquals(Optional.empty(), vector.remove(20));
     }
 
+    @Test
+    void index() {
+        for (AbstractArray<Integer> indexed : List.of(array, vector)) {
+            assertFalse(indexed.isIndexed());
+            indexed.enableIndex();
+            assertTrue(indexed.isIndexed());
+
+            assertEquals(2, indexed.indexOf(3));
+            assertTrue(indexed.contains(4));
+            assertEquals(-1, indexed.indexOf(20));
+            assertEquals(-1, indexed.indexOf(null));
+
+            indexed.insert(2, 1);
+            assertEquals(0, indexed.indexOf(1));
+            assertFalse(indexed.contains(3));
+
+            assertEquals(Optional.of(1), indexed.remove(1));
+            assertEquals(2, indexed.indexOf(1));
+            indexed.removeAt(2);
+            assertFalse(indexed.contains(1));
+
+            indexed.disableIndex();
+            assertFalse(indexed.isIndexed());
+            assertEquals(1, indexed.indexOf(2));
+
+            indexed.enableIndex();
+            indexed.clear();
+            assertFalse(indexed.contains(2));
+            indexed.insert(3, 2);
+            assertEquals(3, indexed.indexOf(2));
+        }
+
+        assertThrows(UnsupportedOperationException.class, () -> new DynamicArray<Integer>().enableIndex());
+    }
+
+    @Test
+    void indexOfSkipsEmptySlots() {
+        array.removeAt(0);
+        assertEquals(1, array.indexOf(2));
+        assertEquals(Optional.of(3), array.remove(3));
+        assertEquals(-1, array.indexOf(3));
+    }
+
+    @Test
+    void failFastIterator() {
+        Iterator<Integer> iterator = array.iterator();
+        assertEquals(1, iterator.next());
+        array.insert(0, 10);
+        assertEquals(2, iterator.next());
+
+        array.add(5);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+
+        Iterator<Integer> removed = array.iterator();
+        array.removeAt(4);
+        assertThrows(ConcurrentModificationException.class, removed::next);
+    }
+
+    @Test
+    void weaklyConsistentIterator() {
+        Iterator<Integer> iterator = vector.iterator();
+        assertEquals(1, iterator.next());
+        vector.insert(1, 20);
+        vector.removeAt(4);
+
+        assertEquals(20, iterator.next());
+        assertEquals(3, iterator.next());
+        assertEquals(4, iterator.next());
+        assertFalse(iterator.hasNext());
+    }
 }
@@ -0,0 +1,51 @@
+package com.beastlymc.data.arrays;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleArrayTest {
+
+    @Test
+    void testInsertRemoveAndSearch() {
+        DoubleArray array = new DoubleArray(10);
+        array.add(1.5);
+        array.add(Double.NaN);
+        array.add(-0.0);
+
+        assertEquals(1, array.indexOf(Double.NaN));
+        assertEquals(2, array.indexOf(-0.0));
+        assertEquals(-1, array.indexOf(0.0));
+        assertEquals(OptionalDouble.of(1.5), array.removeAt(0));
+        assertFalse(array.contains(1.5));
+        assertEquals(0.0, array.get(0));
+
+        array.add(2.5);
+        assertEquals(2.5, array.get(0));
+        assertEquals(-0.0, array.get(2));
+        assertEquals(3, array.size());
+    }
+
+    @Test
+    void testAggregatesAndIterator() {
+        DoubleArray array = new DoubleArray(100);
+        assertEquals(OptionalDouble.empty(), array.min());
+        for (int i = 0; i < 100; i++) {
+            array.add(i * 0.5);
+        }
+        array.removeAt(99);
+
+        assertEquals(99 * 98 / 2 * 0.5, array.sum(), 1e-9);
+        assertEquals(OptionalDouble.of(0.0), array.min());
+        assertEquals(OptionalDouble.of(49.0), array.max());
+
+        PrimitiveIterator.OfDouble iterator = array.iterator();
+        assertEquals(0.0, iterator.nextDouble());
+        assertEquals(0.5, iterator.nextDouble());
+        assertArrayEquals(new double[]{0.0, 0.5, 1.0}, Arrays.copyOf(array.toArray(), 3));
+    }
+}
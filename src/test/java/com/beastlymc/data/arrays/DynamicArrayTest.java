@@ -0,0 +1,138 @@
+package com.beastlymc.data.arrays;
+
+import com.beastlymc.data.common.Footprint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicArrayTest {
+
+    private DynamicArray<Integer> array;
+
+    @BeforeEach
+    void setUp() {
+        array = new DynamicArray<>(2);
+        assertTrue(array.isEmpty());
+    }
+
+    @Test
+    void testAddGrows() {
+        for (int i = 0; i < 1000; i++) {
+            array.add(i);
+        }
+
+        assertEquals(1000, array.size());
+        assertTrue(array.length() >= 1000);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, array.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(1000));
+    }
+
+    @Test
+    void testInsertShifts() {
+        array.add(1);
+        array.add(3);
+        array.insert(1, 2);
+        array.insert(0, 0);
+        array.insert(4, 4);
+
+        assertEquals("[0,1,2,3,4]", array.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> array.insert(6, 6));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.insert(-1, 6));
+    }
+
+    @Test
+    void testRemoveShifts() {
+        for (int i = 0; i < 5; i++) {
+            array.add(i);
+        }
+
+        assertEquals(Optional.of(0), array.removeAt(0));
+        assertEquals(Optional.of(4), array.removeAt(3));
+        assertEquals(Optional.of(2), array.remove(2));
+        assertEquals(Optional.empty(), array.remove(7));
+
+        assertEquals(2, array.size());
+        assertEquals(1, array.get(0));
+        assertEquals(3, array.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.removeAt(2));
+    }
+
+    @Test
+    void testSearch() {
+        array.add(5);
+        array.add(null);
+        array.add(7);
+
+        assertEquals(0, array.indexOf(5));
+        assertEquals(1, array.indexOf(null));
+        assertEquals(2, array.indexOf(7));
+        assertEquals(-1, array.indexOf(8));
+        assertTrue(array.contains(7));
+        assertFalse(array.contains(8));
+        assertEquals(5, array.set(0, 6));
+        assertEquals(6, array.get(0));
+    }
+
+    @Test
+    void testCapacity() {
+        array.ensureCapacity(100);
+        assertEquals(100, array.length());
+
+        for (int i = 0; i < 10; i++) {
+            array.add(i);
+        }
+        assertEquals(100, array.length());
+
+        array.trimToSize();
+        assertEquals(10, array.length());
+        Object[] elements = array.toArray();
+        assertEquals(10, elements.length);
+
+        array.clear();
+        assertTrue(array.isEmpty());
+        assertEquals(10, array.length());
+        assertFalse(array.iterator().hasNext());
+    }
+
+    @Test
+    void testFootprint() {
+        for (int i = 0; i < 3; i++) {
+            array.add(i);
+        }
+
+        Footprint footprint = array.footprint();
+        assertEquals(array.length(), footprint.getCapacity());
+        assertEquals(3, footprint.getSize());
+        assertEquals(array.length() - 3, footprint.getEmptySlots());
+    }
+
+    @Test
+    void testIllegalCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new DynamicArray<>(-1));
+        DynamicArray<Integer> empty = new DynamicArray<>(0);
+        empty.add(1);
+        assertEquals(1, empty.get(0));
+    }
+
+    @Test
+    void testFailFastIterator() {
+        array.add(1);
+        array.add(2);
+
+        Iterator<Integer> iterator = array.iterator();
+        assertEquals(1, iterator.next());
+        array.set(1, 3);
+        assertEquals(3, iterator.next());
+
+        Iterator<Integer> inserted = array.iterator();
+        array.insert(0, 0);
+        assertThrows(ConcurrentModificationException.class, inserted::next);
+    }
+}
@@ -0,0 +1,141 @@
+package com.beastlymc.data.arrays;
+
+import com.beastlymc.data.common.Footprint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntArrayTest {
+    private IntArray array;
+
+    @BeforeEach
+    void setUp() {
+        array = new IntArray(200);
+        assertTrue(array.isEmpty());
+    }
+
+    @Test
+    void testInsertAndGet() {
+        array.add(5);
+        array.add(-3);
+        array.insert(10, 7);
+
+        assertEquals(3, array.size());
+        assertEquals(5, array.get(0));
+        assertEquals(-3, array.get(1));
+        assertEquals(0, array.get(2));
+        assertFalse(array.isOccupied(2));
+        assertTrue(array.isOccupied(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(200));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.insert(-1, 1));
+
+        array.insert(10, 8);
+        assertEquals(3, array.size());
+        assertEquals("[5,-3,8]", array.toString());
+    }
+
+    @Test
+    void testAddFillsFirstEmptySlot() {
+        array.add(0);
+        array.add(1);
+        array.add(2);
+        array.removeAt(0);
+
+        array.add(3);
+        assertEquals(3, array.size());
+        assertEquals("[3,1,2]", array.toString());
+        array.add(4);
+        assertEquals(4, array.get(3));
+
+        IntArray small = new IntArray(65);
+        for (int i = 0; i < 65; i++) {
+            small.add(i);
+        }
+        assertThrows(IllegalStateException.class, () -> small.add(65));
+        small.removeAt(64);
+        small.add(-1);
+        assertEquals(-1, small.get(64));
+        assertEquals(65, small.size());
+    }
+
+    @Test
+    void testRemoveAndSearch() {
+        array.insert(3, 0);
+        array.insert(4, 9);
+        array.insert(5, 9);
+
+        assertEquals(3, array.indexOf(0));
+        assertEquals(4, array.indexOf(9));
+        assertTrue(array.contains(9));
+        assertFalse(array.contains(1));
+
+        assertEquals(OptionalInt.of(9), array.removeAt(4));
+        assertEquals(OptionalInt.empty(), array.removeAt(4));
+        assertEquals(5, array.indexOf(9));
+        assertTrue(array.remove(0));
+        assertFalse(array.remove(0));
+        assertEquals(-1, array.indexOf(0));
+        assertEquals(1, array.size());
+    }
+
+    @Test
+    void testAggregates() {
+        assertEquals(0, array.sum());
+        assertEquals(OptionalInt.empty(), array.min());
+        assertEquals(OptionalInt.empty(), array.max());
+
+        for (int i = 0; i < 200; i++) {
+            array.add(i - 100);
+        }
+        assertEquals(-100, array.sum());
+        assertEquals(OptionalInt.of(-100), array.min());
+        assertEquals(OptionalInt.of(99), array.max());
+
+        array.removeAt(0);
+        array.removeAt(199);
+        assertEquals(OptionalInt.of(-99), array.min());
+        assertEquals(OptionalInt.of(98), array.max());
+        assertEquals(-99, array.sum());
+
+        array.insert(150, Integer.MAX_VALUE);
+        array.insert(151, Integer.MAX_VALUE);
+        assertEquals(OptionalInt.of(Integer.MAX_VALUE), array.max());
+        assertTrue(array.sum() > Integer.MAX_VALUE);
+    }
+
+    @Test
+    void testIteratorAndToArray() {
+        array.insert(1, 10);
+        array.insert(70, 20);
+        array.insert(199, 30);
+
+        PrimitiveIterator.OfInt iterator = array.iterator();
+        assertEquals(10, iterator.nextInt());
+        assertEquals(20, iterator.nextInt());
+        assertEquals(30, iterator.nextInt());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::nextInt);
+
+        assertArrayEquals(new int[]{10, 20, 30}, array.toArray());
+
+        array.clear();
+        assertTrue(array.isEmpty());
+        assertEquals(0, array.get(70));
+        assertFalse(array.iterator().hasNext());
+    }
+
+    @Test
+    void testFootprint() {
+        array.add(1);
+        Footprint footprint = array.footprint();
+        assertEquals(200, footprint.getCapacity());
+        assertEquals(1, footprint.getSize());
+        assertEquals(199, footprint.getEmptySlots());
+        assertTrue(footprint.getRetainedBytes() >= 16 + 200 * Integer.BYTES);
+    }
+}
@@ -0,0 +1,50 @@
+package com.beastlymc.data.arrays;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongArrayTest {
+
+    @Test
+    void testInsertRemoveAndSearch() {
+        LongArray array = new LongArray(100);
+        array.add(Long.MAX_VALUE);
+        array.insert(65, -1L);
+
+        assertEquals(2, array.size());
+        assertEquals(Long.MAX_VALUE, array.get(0));
+        assertEquals(65, array.indexOf(-1L));
+        assertEquals(OptionalLong.of(-1L), array.removeAt(65));
+        assertEquals(OptionalLong.empty(), array.removeAt(65));
+        assertFalse(array.contains(-1L));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.insert(100, 1L));
+
+        array.insert(1, 7L);
+        array.removeAt(0);
+        array.add(8L);
+        assertEquals(8L, array.get(0));
+        assertEquals(7L, array.get(1));
+        assertEquals(2, array.size());
+    }
+
+    @Test
+    void testAggregatesAndIterator() {
+        LongArray array = new LongArray(130);
+        for (int i = 0; i < 130; i++) {
+            array.add(i * 1_000_000_000L);
+        }
+        array.removeAt(0);
+
+        assertEquals(129 * 130 / 2 * 1_000_000_000L, array.sum());
+        assertEquals(OptionalLong.of(1_000_000_000L), array.min());
+        assertEquals(OptionalLong.of(129_000_000_000L), array.max());
+
+        PrimitiveIterator.OfLong iterator = array.iterator();
+        assertEquals(1_000_000_000L, iterator.nextLong());
+        assertEquals(129, array.toArray().length);
+    }
+}
@@ -0,0 +1,93 @@
+package com.beastlymc.data.arrays;
+
+import com.beastlymc.data.common.Footprint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedArrayTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReopen() throws IOException {
+        Path file = directory.resolve("records.bin");
+
+        try (MappedArray array = new MappedArray(file, 1000, 16, 64)) {
+            for (long i = 0; i < 1000; i += 3) {
+                array.putLong(i, 0, i * 7);
+                array.putDouble(i, 8, i / 4.0);
+            }
+            array.insert(1, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+            array.removeAt(3);
+            array.force();
+        }
+
+        try (MappedArray array = new MappedArray(file)) {
+            assertEquals(1000, array.length());
+            assertEquals(16, array.recordSize());
+            assertEquals(334, array.size());
+            assertEquals(42, array.getLong(6, 0));
+            assertEquals(1.5, array.getDouble(6, 8));
+            assertFalse(array.isOccupied(3));
+            assertFalse(array.isOccupied(4));
+
+            byte[] record = new byte[16];
+            assertTrue(array.get(1, record));
+            assertEquals(16, record[15]);
+
+            array.clear();
+        }
+
+        try (MappedArray array = new MappedArray(file, 1000, 16)) {
+            assertTrue(array.isEmpty());
+            assertEquals(0, array.getLong(6, 0));
+        }
+    }
+
+    @Test
+    void testFootprint() throws IOException {
+        try (MappedArray mapped = new MappedArray(directory.resolve("records.bin"), 10, 8);
+             OffHeapArray offHeap = new OffHeapArray(10, 8)) {
+            mapped.putLong(0, 0, 1);
+            Footprint footprint = mapped.footprint();
+            Footprint expected = offHeap.footprint();
+            assertEquals(1, footprint.getSize());
+            assertTrue(footprint.getShallowBytes() > expected.getShallowBytes());
+            assertEquals(expected.getRetainedBytes() - expected.getShallowBytes() + AbstractBufferArray.BUFFER_BYTES,
+                         footprint.getRetainedBytes() - footprint.getShallowBytes());
+        }
+    }
+
+    @Test
+    void testHeaderMismatch() throws IOException {
+        Path file = directory.resolve("records.bin");
+        new MappedArray(file, 10, 8).close();
+
+        assertThrows(IllegalArgumentException.class, () -> new MappedArray(file, 20, 8));
+        assertThrows(IllegalArgumentException.class, () -> new MappedArray(file, 10, 4));
+
+        Path garbage = directory.resolve("garbage.bin");
+        Files.write(garbage, new byte[100]);
+        assertThrows(IOException.class, () -> new MappedArray(garbage));
+        assertThrows(IOException.class, () -> new MappedArray(garbage, 10, 8));
+    }
+
+    @Test
+    void testClose() throws IOException {
+        MappedArray array = new MappedArray(directory.resolve("records.bin"), 10, 8);
+        array.putLong(0, 0, 1);
+        array.close();
+        array.close();
+
+        assertTrue(array.isClosed());
+        assertThrows(IllegalStateException.class, () -> array.getLong(0, 0));
+        assertThrows(IllegalStateException.class, array::force);
+    }
+}
@@ -0,0 +1,86 @@
+package com.beastlymc.data.arrays;
+
+import com.beastlymc.data.common.Footprint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapArrayTest {
+
+    @Test
+    void testTypedAccessors() {
+        try (OffHeapArray array = new OffHeapArray(1000, 24)) {
+            for (long i = 0; i < 1000; i += 2) {
+                array.putLong(i, 0, i * 3);
+                array.putInt(i, 8, (int) -i);
+                array.putDouble(i, 16, i / 2.0);
+            }
+
+            assertEquals(500, array.size());
+            assertEquals(30, array.getLong(10, 0));
+            assertEquals(-10, array.getInt(10, 8));
+            assertEquals(5.0, array.getDouble(10, 16));
+            assertFalse(array.isOccupied(11));
+            assertEquals(0, array.getLong(11, 0));
+
+            array.putByte(11, 23, (byte) 7);
+            array.putFloat(11, 12, 1.5f);
+            assertTrue(array.isOccupied(11));
+            assertEquals(7, array.getByte(11, 23));
+            assertEquals(1.5f, array.getFloat(11, 12));
+            assertEquals(501, array.size());
+
+            assertThrows(IndexOutOfBoundsException.class, () -> array.getLong(1000, 0));
+            assertThrows(IndexOutOfBoundsException.class, () -> array.getLong(0, 17));
+            assertThrows(IndexOutOfBoundsException.class, () -> array.putInt(-1, 0, 1));
+        }
+    }
+
+    @Test
+    void testRecordsAcrossChunks() {
+        OffHeapArray array = new OffHeapArray(100, 3, 16);
+        byte[] record = new byte[3];
+
+        for (int i = 0; i < 100; i++) {
+            array.insert(i, new byte[]{(byte) i, (byte) (i + 1), (byte) (i + 2)});
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(array.get(i, record));
+            assertArrayEquals(new byte[]{(byte) i, (byte) (i + 1), (byte) (i + 2)}, record);
+        }
+
+        assertTrue(array.removeAt(42));
+        assertFalse(array.removeAt(42));
+        assertFalse(array.get(42, record));
+        assertEquals(0, array.getByte(42, 1));
+        assertEquals(99, array.size());
+        assertThrows(IllegalArgumentException.class, () -> array.insert(0, new byte[4]));
+
+        array.clear();
+        assertTrue(array.isEmpty());
+        assertFalse(array.isOccupied(0));
+        assertEquals(0, array.getByte(0, 0));
+    }
+
+    @Test
+    void testClose() {
+        OffHeapArray array = new OffHeapArray(10, 8);
+        array.putLong(0, 0, 1);
+        Footprint footprint = array.footprint();
+        assertEquals(10, footprint.getCapacity());
+        assertEquals(1, footprint.getSize());
+        assertEquals(10 * 8 + 8, array.offHeapBytes());
+
+        array.close();
+        assertTrue(array.isClosed());
+        assertThrows(IllegalStateException.class, () -> array.getLong(0, 0));
+        assertThrows(IllegalStateException.class, array::clear);
+        array.close();
+    }
+
+    @Test
+    void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapArray(-1, 8));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapArray(10, 0));
+    }
+}
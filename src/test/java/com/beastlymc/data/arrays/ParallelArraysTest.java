@@ -0,0 +1,119 @@
+package com.beastlymc.data.arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelArraysTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    private final ParallelArrays parallel = new ParallelArrays(pool, 16);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testSort() {
+        Array<Integer> array = new Array<>(1000);
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            if (i % 10 != 0) {
+                array.insert(i, random.nextInt(100));
+            }
+        }
+        array.enableIndex();
+
+        parallel.sort(array, Comparator.naturalOrder());
+
+        assertEquals(900, array.size());
+        for (int i = 1; i < 900; i++) {
+            assertTrue(array.get(i - 1) <= array.get(i));
+        }
+        for (int i = 900; i < 1000; i++) {
+            assertNull(array.get(i));
+        }
+        int first = 899;
+        while (array.get(first - 1).equals(array.get(899))) {
+            first--;
+        }
+        assertEquals(first, array.indexOf(array.get(899)));
+    }
+
+    @Test
+    void testSortIsStable() {
+        DynamicArray<int[]> array = new DynamicArray<>();
+        for (int i = 0; i < 500; i++) {
+            array.add(new int[]{(i * 7) % 5, i});
+        }
+
+        parallel.sort(array, Comparator.comparingInt(pair -> pair[0]));
+
+        for (int i = 1; i < 500; i++) {
+            int[] previous = array.get(i - 1);
+            int[] current = array.get(i);
+            assertTrue(previous[0] < current[0] || previous[0] == current[0] && previous[1] < current[1]);
+        }
+    }
+
+    @Test
+    void testSetAllAndReduce() {
+        Vector<Long> vector = new Vector<>(1000);
+        parallel.setAll(vector, i -> i % 3 == 0 ? null : (long) i);
+
+        assertEquals(999, vector.size());
+        assertNull(vector.get(3));
+        assertEquals(4L, vector.get(4));
+
+        long expected = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (i % 3 != 0) {
+                expected += i;
+            }
+        }
+        assertEquals(Optional.of(expected), parallel.reduce(vector, Long::sum));
+        assertEquals(Optional.empty(), parallel.reduce(new Array<Long>(10), Long::sum));
+    }
+
+    @Test
+    void testPrefix() {
+        Array<String> array = new Array<>(100);
+        parallel.setAll(array, i -> i == 50 ? null : String.valueOf(i % 10));
+
+        parallel.prefix(array, String::concat);
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            if (i == 50) {
+                assertNull(array.get(i));
+            } else {
+                expected.append(i % 10);
+                assertEquals(expected.toString(), array.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testSequentialBelowThreshold() {
+        ParallelArrays sequential = new ParallelArrays(pool, 1 << 20);
+        DynamicArray<Integer> array = new DynamicArray<>();
+        for (int i = 0; i < 100; i++) {
+            array.add(100 - i);
+        }
+
+        sequential.sort(array, Comparator.naturalOrder());
+        sequential.prefix(array, Integer::sum);
+
+        assertEquals(1, array.get(0));
+        assertEquals(5050, array.get(99));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelArrays(pool, 0));
+    }
+}
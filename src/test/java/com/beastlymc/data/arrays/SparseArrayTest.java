@@ -0,0 +1,119 @@
+package com.beastlymc.data.arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparseArrayTest {
+
+    private SparseArray<String> array;
+
+    @BeforeEach
+    void setUp() {
+        array = new SparseArray<>(200);
+    }
+
+    @Test
+    void testNullElements() {
+        array.insert(3, null);
+        array.insert(7, "a");
+
+        assertEquals(2, array.size());
+        assertTrue(array.isOccupied(3));
+        assertFalse(array.isOccupied(4));
+        assertEquals(3, array.indexOf(null));
+        assertTrue(array.contains(null));
+        assertEquals(7, array.indexOf("a"));
+
+        assertEquals(Optional.empty(), array.removeAt(3));
+        assertFalse(array.contains(null));
+        assertEquals(1, array.size());
+        assertEquals(Optional.empty(), array.removeAt(3));
+        assertEquals(1, array.size());
+    }
+
+    @Test
+    void testNextOccupied() {
+        array.insert(0, "a");
+        array.insert(64, "b");
+        array.insert(199, "c");
+
+        assertEquals(0, array.nextOccupied(0));
+        assertEquals(64, array.nextOccupied(1));
+        assertEquals(199, array.nextOccupied(65));
+        assertEquals(-1, array.nextOccupied(200));
+        assertEquals(1, array.nextEmpty(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.nextOccupied(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.nextEmpty(-64));
+
+        List<String> elements = new ArrayList<>();
+        array.forEach(elements::add);
+        assertEquals(List.of("a", "b", "c"), elements);
+        assertEquals(3, array.stream().count());
+        assertEquals("[a,b,c]", array.toString());
+    }
+
+    @Test
+    void testAddFillsHoles() {
+        array.insert(0, "a");
+        array.insert(1, "b");
+        array.removeAt(0);
+        array.add("c");
+
+        assertEquals("c", array.get(0));
+
+        SparseArray<Integer> full = new SparseArray<>(2);
+        full.add(1);
+        full.add(2);
+        assertThrows(IllegalStateException.class, () -> full.add(3));
+    }
+
+    @Test
+    void testCompact() {
+        for (int i = 0; i < 200; i++) {
+            array.insert(i, String.valueOf(i));
+        }
+        for (int i = 0; i < 200; i++) {
+            if (i % 3 != 0) {
+                array.removeAt(i);
+            }
+        }
+        array.insert(5, null);
+        array.enableIndex();
+
+        array.compact();
+
+        assertEquals(68, array.size());
+        assertEquals("0", array.get(0));
+        assertEquals("3", array.get(1));
+        assertNull(array.get(2));
+        assertTrue(array.isOccupied(2));
+        assertEquals("198", array.get(67));
+        assertEquals(67, array.nextOccupied(67));
+        assertEquals(-1, array.nextOccupied(68));
+        assertEquals(68, array.nextEmpty(0));
+        assertEquals(66, array.indexOf("195"));
+    }
+
+    @Test
+    void testFailFastIterator() {
+        array.insert(0, "a");
+        array.insert(1, "b");
+
+        Iterator<String> iterator = array.iterator();
+        assertEquals("a", iterator.next());
+        array.insert(1, "c");
+        assertEquals("c", iterator.next());
+
+        Iterator<String> removed = array.iterator();
+        array.removeAt(0);
+        assertThrows(ConcurrentModificationException.class, removed::next);
+    }
+}
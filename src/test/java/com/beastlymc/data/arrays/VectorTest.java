@@ -0,0 +1,101 @@
+package com.beastlymc.data.arrays;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorTest {
+
+    @Test
+    void testReadsAndWrites() {
+        Vector<Integer> vector = new Vector<>(4);
+        vector.add(1);
+        vector.add(2);
+        vector.insert(3, 4);
+
+        assertEquals(4, vector.size());
+        assertEquals(2, vector.get(1));
+        assertNull(vector.get(2));
+        assertEquals(3, vector.indexOf(4));
+        assertTrue(vector.contains(1));
+        assertEquals(Optional.of(2), vector.remove(2));
+        assertEquals(-1, vector.indexOf(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.insert(4, 5));
+
+        vector.clear();
+        assertTrue(vector.isEmpty());
+        assertEquals(4, vector.length());
+    }
+
+    @Test
+    void testConcurrentReaders() throws InterruptedException {
+        int length = 256;
+        Vector<Integer> vector = new Vector<>(length);
+        for (int i = 0; i < length; i++) {
+            vector.add(i);
+        }
+
+        int readers = 8;
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean failed = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int r = 0; r < readers; r++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                while (running.get()) {
+                    for (int i = 0; i < length; i++) {
+                        Integer value = vector.get(i);
+                        if (value == null || value % length != i) {
+                            failed.set(true);
+                        }
+                    }
+                }
+            });
+            threads.add(reader);
+            reader.start();
+        }
+
+        start.countDown();
+        for (int round = 1; round <= 200; round++) {
+            for (int i = 0; i < length; i++) {
+                vector.insert(i, round * length + i);
+            }
+        }
+        running.set(false);
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse(failed.get());
+        assertEquals(200 * length + 7, vector.get(7));
+    }
+
+    @Test
+    void testStream() {
+        Vector<Integer> vector = new Vector<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            vector.add(i);
+        }
+
+        Spliterator<Integer> spliterator = vector.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+        assertEquals(500, spliterator.trySplit().estimateSize());
+        assertEquals(499500, vector.parallelStream().mapToInt(Integer::intValue).sum());
+        assertEquals(500, vector.stream().filter(i -> i % 2 == 0).count());
+    }
+}
@@ -0,0 +1,106 @@
+package com.beastlymc.data.cache;
+
+import com.beastlymc.data.hash.HashMap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheTest {
+
+    @Test
+    void testLruEviction() {
+        Cache<String, Integer> cache = new Cache<>(2);
+        HashMap<String, Integer> evicted = new HashMap<>();
+        cache.setEvictionListener(evicted::put);
+
+        assertNull(cache.put("one", 1));
+        assertNull(cache.put("two", 2));
+        assertEquals(1, cache.get("one"));
+        assertNull(cache.put("three", 3));
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.containsKey("one"));
+        assertFalse(cache.containsKey("two"));
+        assertTrue(cache.containsKey("three"));
+        assertEquals(1, cache.evictionCount());
+        assertEquals(2, evicted.get("two"));
+    }
+
+    @Test
+    void testStats() {
+        Cache<String, Integer> cache = new Cache<>(10);
+        assertEquals(1.0, cache.hitRate());
+
+        cache.put("one", 1);
+        assertEquals(1, cache.get("one"));
+        assertNull(cache.get("two"));
+
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(0.5, cache.hitRate());
+
+        cache.resetStats();
+        assertEquals(0, cache.hitCount());
+        assertEquals(0, cache.missCount());
+    }
+
+    @Test
+    void testWeigher() {
+        Cache<String, String> cache = new Cache<>(10, (key, value) -> value.length(), Cache.Policy.LRU);
+
+        cache.put("a", "12345");
+        cache.put("b", "1234");
+        assertEquals(9, cache.weight());
+
+        cache.put("c", "123");
+        assertFalse(cache.containsKey("a"));
+        assertEquals(7, cache.weight());
+
+        cache.put("b", "1");
+        assertEquals(4, cache.weight());
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void testRemoveAndClear() {
+        Cache<String, Integer> cache = new Cache<>(10, Cache.Policy.W_TINY_LFU);
+        cache.put("one", 1);
+        cache.put("two", 2);
+
+        assertEquals(1, cache.remove("one"));
+        assertNull(cache.remove("one"));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.weight());
+
+        cache.clear();
+        assertTrue(cache.isEmpty());
+        assertEquals(0, cache.weight());
+        assertNull(cache.get("two"));
+    }
+
+    @Test
+    void testTinyLfuKeepsFrequentEntries() {
+        Cache<Integer, Integer> cache = new Cache<>(100, Cache.Policy.W_TINY_LFU);
+
+        for (int round = 0; round < 5; round++) {
+            for (int hot = 0; hot < 50; hot++) {
+                if (cache.get(hot) == null) {
+                    cache.put(hot, hot);
+                }
+            }
+        }
+
+        for (int scan = 1_000; scan < 11_000; scan++) {
+            cache.put(scan, scan);
+        }
+
+        assertEquals(100, cache.size());
+        int retained = 0;
+        for (int hot = 0; hot < 50; hot++) {
+            if (cache.containsKey(hot)) {
+                retained++;
+            }
+        }
+        assertTrue(retained >= 45, "only " + retained + " hot entries survived the scan");
+    }
+}
@@ -0,0 +1,189 @@
+package com.beastlymc.data.common;
+
+import com.beastlymc.data.arrays.Array;
+import com.beastlymc.data.arrays.DoubleArray;
+import com.beastlymc.data.arrays.DynamicArray;
+import com.beastlymc.data.arrays.IntArray;
+import com.beastlymc.data.arrays.LongArray;
+import com.beastlymc.data.arrays.MappedArray;
+import com.beastlymc.data.arrays.OffHeapArray;
+import com.beastlymc.data.arrays.SparseArray;
+import com.beastlymc.data.arrays.Vector;
+import com.beastlymc.data.cache.Cache;
+import com.beastlymc.data.hash.ConcurrentHashMap;
+import com.beastlymc.data.hash.HashMap;
+import com.beastlymc.data.hash.IntIntHashMap;
+import com.beastlymc.data.hash.IntObjectHashMap;
+import com.beastlymc.data.hash.LongLongHashMap;
+import com.beastlymc.data.hash.LongObjectHashMap;
+import com.beastlymc.data.heaps.MaxHeap;
+import com.beastlymc.data.heaps.MinHeap;
+import com.beastlymc.data.lists.LinkedList;
+import com.beastlymc.data.lists.UnrolledLinkedList;
+import com.beastlymc.data.queues.ConcurrentQueue;
+import com.beastlymc.data.queues.MpmcArrayQueue;
+import com.beastlymc.data.queues.MpscArrayQueue;
+import com.beastlymc.data.queues.Queue;
+import com.beastlymc.data.queues.SpscArrayQueue;
+import com.beastlymc.data.stacks.Stack;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FootprintTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testEstimates() {
+        assertEquals(16, Footprint.objectBytes(0, 0));
+        assertEquals(24, Footprint.objectBytes(2, 4));
+        assertEquals(56, Footprint.arrayBytes(10, Footprint.REFERENCE_BYTES));
+        assertEquals(16, Footprint.arrayBytes(0, Long.BYTES));
+        assertEquals(24, Footprint.align(17));
+    }
+
+    @Test
+    void testLoadFactor() {
+        assertEquals(0, new Footprint(0, 0, 0, 0, 0, 0).getLoadFactor());
+        assertEquals(0.25, new Footprint(16, 32, 8, 2, 6, 0).getLoadFactor());
+    }
+
+    @Test
+    void testArrayFootprint() {
+        Array<Integer> array = new Array<>(10);
+        array.add(1);
+        array.add(2);
+
+        Footprint footprint = array.footprint();
+        assertEquals(10, footprint.getCapacity());
+        assertEquals(2, footprint.getSize());
+        assertEquals(8, footprint.getEmptySlots());
+        assertEquals(0, footprint.getLongestProbe());
+        assertEquals(footprint.getShallowBytes() + 56, footprint.getRetainedBytes());
+    }
+
+    @Test
+    void testIndexedArrayFootprint() {
+        Array<Integer> array = new Array<>(10);
+        array.add(1);
+        array.add(2);
+        array.add(1);
+        long unindexed = array.footprint().getRetainedBytes();
+
+        array.enableIndex();
+        Footprint footprint = array.footprint();
+        assertEquals(Footprint.objectBytes(2, 2 * Integer.BYTES), footprint.getShallowBytes());
+        assertTrue(footprint.getRetainedBytes() > unindexed + 2 * Footprint.objectBytes(1, Integer.BYTES));
+
+        array.disableIndex();
+        assertEquals(unindexed, array.footprint().getRetainedBytes());
+    }
+
+    @Test
+    void testLinkedListFootprint() {
+        LinkedList<Integer> list = new LinkedList<>();
+        long empty = list.footprint().getRetainedBytes();
+        list.add(1);
+        list.add(2);
+
+        Footprint footprint = list.footprint();
+        assertEquals(2, footprint.getSize());
+        assertEquals(0, footprint.getEmptySlots());
+        assertEquals(empty + 2 * Footprint.objectBytes(2, 0), footprint.getRetainedBytes());
+    }
+
+    @Test
+    void testHeapFootprint() {
+        MinHeap<Integer> heap = new MinHeap<>(4);
+        heap.insert(3);
+
+        Footprint footprint = heap.footprint();
+        assertEquals(4, footprint.getCapacity());
+        assertEquals(1, footprint.getSize());
+        assertEquals(3, footprint.getEmptySlots());
+    }
+
+    @Test
+    void testArrayShallowBytes() throws IOException {
+        assertShallowBytes(new Array<>(4));
+        assertShallowBytes(new DynamicArray<>());
+        assertShallowBytes(new SparseArray<>(4));
+        assertShallowBytes(new Vector<>(4));
+        assertShallowBytes(new IntArray(4));
+        assertShallowBytes(new LongArray(4));
+        assertShallowBytes(new DoubleArray(4));
+        try (OffHeapArray offHeap = new OffHeapArray(4, 8);
+             MappedArray mapped = new MappedArray(directory.resolve("records.bin"), 4, 8)) {
+            assertShallowBytes(offHeap);
+            assertShallowBytes(mapped);
+        }
+    }
+
+    @Test
+    void testMapShallowBytes() {
+        assertShallowBytes(new HashMap<>());
+        assertShallowBytes(new ConcurrentHashMap<>());
+        assertShallowBytes(new IntIntHashMap());
+        assertShallowBytes(new IntObjectHashMap<>());
+        assertShallowBytes(new LongLongHashMap());
+        assertShallowBytes(new LongObjectHashMap<>());
+        assertShallowBytes(new Cache<>(4));
+    }
+
+    @Test
+    void testListShallowBytes() {
+        assertShallowBytes(new LinkedList<>());
+        assertShallowBytes(new UnrolledLinkedList<>());
+        assertShallowBytes(new MinHeap<Integer>(4));
+        assertShallowBytes(new MaxHeap<Integer>(4));
+        assertShallowBytes(new Stack<>());
+    }
+
+    @Test
+    void testQueueShallowBytes() {
+        assertShallowBytes(new Queue<>());
+        assertShallowBytes(new ConcurrentQueue<>());
+        assertShallowBytes(new SpscArrayQueue<>(4));
+        assertShallowBytes(new MpscArrayQueue<>(4));
+        assertShallowBytes(new MpmcArrayQueue<>(4));
+    }
+
+    /**
+     * Asserts that the shallow size reported by a structure matches the
+     * instance fields declared by its class and all of its superclasses.
+     */
+    private static void assertShallowBytes(final MemoryFootprint structure) {
+        int references = 0;
+        int primitiveBytes = 0;
+        for (Class<?> type = structure.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Class<?> fieldType = field.getType();
+                if (!fieldType.isPrimitive()) {
+                    references++;
+                } else if (fieldType == long.class || fieldType == double.class) {
+                    primitiveBytes += Long.BYTES;
+                } else if (fieldType == int.class || fieldType == float.class) {
+                    primitiveBytes += Integer.BYTES;
+                } else if (fieldType == short.class || fieldType == char.class) {
+                    primitiveBytes += Short.BYTES;
+                } else {
+                    primitiveBytes += Byte.BYTES;
+                }
+            }
+        }
+
+        assertEquals(Footprint.objectBytes(references, primitiveBytes), structure.footprint().getShallowBytes(),
+                     structure.getClass().getSimpleName());
+    }
+}
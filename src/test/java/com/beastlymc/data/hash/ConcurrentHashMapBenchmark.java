@@ -0,0 +1,138 @@
+package com.beastlymc.data.hash;
+
+import com.beastlymc.data.common.Footprint;
+import com.beastlymc.data.common.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Compares the throughput of {@link ConcurrentHashMap} with a
+ * {@link HashMap} behind a single lock under a read-mostly workload.
+ * <p>
+ * Run with {@code java -cp <test classpath> com.beastlymc.data.hash.ConcurrentHashMapBenchmark [threads...]}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentHashMapBenchmark {
+
+    private static final int KEYS = 1 << 16;
+
+    @Param({"concurrent", "synchronized"})
+    public String implementation;
+
+    @Param({"90"})
+    public int readPercent;
+
+    private Map<Integer, Integer> map;
+
+    private Integer[] keys;
+
+    @Setup
+    public void setUp() {
+        map = "concurrent".equals(implementation)
+              ? new ConcurrentHashMap<>(KEYS)
+              : new SynchronizedMap<>(new HashMap<>(KEYS));
+
+        keys = new Integer[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = i;
+            map.put(keys[i], i);
+        }
+    }
+
+    @Benchmark
+    public Integer mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Integer key = keys[random.nextInt(KEYS)];
+
+        if (random.nextInt(100) < readPercent) {
+            return map.get(key);
+        }
+        return map.put(key, key);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        int[] threadCounts = args.length == 0
+                             ? new int[]{1, 4, 16}
+                             : java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        for (int threads : threadCounts) {
+            new Runner(new OptionsBuilder()
+                               .include(ConcurrentHashMapBenchmark.class.getSimpleName())
+                               .threads(threads)
+                               .build()).run();
+        }
+    }
+
+    /**
+     * Serializes every call on a single monitor, the way callers guarded the
+     * map before {@link ConcurrentHashMap} existed.
+     */
+    private static final class SynchronizedMap<K, V> implements Map<K, V> {
+        private final Map<K, V> map;
+
+        SynchronizedMap(final Map<K, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public synchronized V put(final K key, final V value) {
+            return map.put(key, value);
+        }
+
+        @Override
+        public synchronized V get(final K key) {
+            return map.get(key);
+        }
+
+        @Override
+        public synchronized V remove(final K key) {
+            return map.remove(key);
+        }
+
+        @Override
+        public synchronized boolean containsKey(final K key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public synchronized void forEach(final BiConsumer<? super K, ? super V> action) {
+            map.forEach(action);
+        }
+
+        @Override
+        public synchronized int size() {
+            return map.size();
+        }
+
+        @Override
+        public synchronized void clear() {
+            map.clear();
+        }
+
+        @Override
+        public synchronized Footprint footprint() {
+            return map.footprint();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.beastlymc.data.hash;
+
+import com.beastlymc.data.common.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentHashMapTest {
+    private Map<String, Integer> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new ConcurrentHashMap<>();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testPutAndGet() {
+        assertNull(map.put("one", 1));
+        assertNull(map.put("two", 2));
+        assertEquals(1, map.put("one", 11));
+
+        assertEquals(11, map.get("one"));
+        assertEquals(2, map.get("two"));
+        assertNull(map.get("three"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testRemoveAndContainsKey() {
+        assertNull(map.put("one", 1));
+        assertTrue(map.containsKey("one"));
+        assertEquals(1, map.remove("one"));
+        assertFalse(map.containsKey("one"));
+        assertNull(map.remove("one"));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testNulls() {
+        assertThrows(NullPointerException.class, () -> map.put(null, 1));
+        assertThrows(NullPointerException.class, () -> map.put("one", null));
+        assertThrows(NullPointerException.class, () -> map.get(null));
+    }
+
+    @Test
+    void testForEach() {
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+        }
+
+        List<String> keys = new ArrayList<>();
+        map.forEach((key, value) -> {
+            assertEquals("key" + value, key);
+            keys.add(key);
+        });
+        assertEquals(100, keys.size());
+    }
+
+    @Test
+    void testClear() {
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+        }
+        assertEquals(100, map.size());
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get("key1"));
+    }
+
+    @Test
+    void testConcurrentWriters() throws InterruptedException {
+        ConcurrentHashMap<Integer, Integer> shared = new ConcurrentHashMap<>(2, 4);
+        int threads = 8;
+        int perThread = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = offset; i < offset + perThread; i++) {
+                    shared.put(i, i);
+                    assertEquals(i, shared.get(i));
+                }
+                for (int i = offset; i < offset + perThread; i += 2) {
+                    shared.remove(i);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * perThread / 2, shared.size());
+        for (int i = 0; i < threads * perThread; i++) {
+            if (i % 2 == 0) {
+                assertNull(shared.get(i));
+            } else {
+                assertEquals(i, shared.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testCompute() {
+        assertEquals(1, map.computeIfAbsent("one", key -> 1));
+        assertEquals(1, map.computeIfAbsent("one", key -> 2));
+        assertNull(map.computeIfPresent("two", (key, value) -> 2));
+        assertEquals(11, map.computeIfPresent("one", (key, value) -> value + 10));
+        assertEquals(3, map.compute("three", (key, value) -> value == null ? 3 : value));
+        assertNull(map.compute("three", (key, value) -> null));
+        assertFalse(map.containsKey("three"));
+        assertEquals(5, map.merge("five", 5, Integer::sum));
+        assertEquals(10, map.merge("five", 5, Integer::sum));
+        assertNull(map.merge("five", 5, (a, b) -> null));
+        assertEquals(-1, map.getOrDefault("five", -1));
+        assertEquals(11, map.getOrDefault("one", -1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testConcurrentMerge() throws InterruptedException {
+        ConcurrentHashMap<Integer, Integer> counters = new ConcurrentHashMap<>(2, 4);
+        int threads = 8;
+        int increments = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < increments; i++) {
+                    counters.merge(i % 16, 1, Integer::sum);
+                    counters.computeIfAbsent(100 + i % 16, key -> key);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        for (int i = 0; i < 16; i++) {
+            assertEquals(threads * increments / 16, counters.get(i));
+            assertEquals(100 + i, counters.get(100 + i));
+        }
+    }
+}
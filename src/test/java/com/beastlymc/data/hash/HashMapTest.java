@@ -1,9 +1,18 @@
 package com.beastlymc.data.hash;
 
+import com.beastlymc.data.common.Footprint;
 import com.beastlymc.data.common.Map;
+import com.beastlymc.data.common.MapCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class HashMapTest {
@@ -82,4 +91,352 @@ class HashMapTest {
         assertEquals(0, map.size());
         assertNull(map.get("one"));
     }
+
+    @Test
+    void testGrowth() {
+        HashMap<Integer, Integer> grown = new HashMap<>(2);
+        for (int i = 0; i < 10_000; i++) {
+            assertNull(grown.put(i, i * 2));
+        }
+
+        assertEquals(10_000, grown.size());
+        assertTrue(grown.capacity() >= 10_000);
+        assertEquals(0, Integer.bitCount(grown.capacity()) - 1);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i * 2, grown.get(i));
+        }
+    }
+
+    @Test
+    void testRemoveKeepsProbeSequence() {
+        HashMap<Integer, String> probed = new HashMap<>(16);
+        for (int i = 0; i < 8; i++) {
+            assertNull(probed.put(i * 16, "v" + i));
+        }
+
+        assertEquals("v0", probed.remove(0));
+        assertEquals("v3", probed.remove(48));
+
+        for (int i = 0; i < 8; i++) {
+            if (i == 0 || i == 3) {
+                assertFalse(probed.containsKey(i * 16));
+            } else {
+                assertEquals("v" + i, probed.get(i * 16));
+            }
+        }
+        assertEquals(6, probed.size());
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("{}", map.toString());
+        assertNull(map.put("one", 1));
+        assertEquals("{one=1}", map.toString());
+    }
+
+    @Test
+    void testIncrementalResize() {
+        HashMap<Integer, Integer> large = new HashMap<>(1 << 11);
+        assertFalse(large.isResizing());
+        assertEquals(1f, large.resizeProgress());
+
+        int key = 0;
+        while (!large.isResizing()) {
+            assertNull(large.put(key, key));
+            key++;
+        }
+
+        assertEquals(1 << 12, large.capacity());
+        assertTrue(large.resizeProgress() < 1f);
+
+        assertEquals(0, large.remove(0));
+        assertEquals(1, large.put(1, -1));
+        assertEquals(-1, large.get(1));
+        assertFalse(large.containsKey(0));
+
+        float progress = large.resizeProgress();
+        for (int i = 2; i < key; i++) {
+            assertEquals(i, large.get(i));
+        }
+        assertTrue(large.resizeProgress() > progress || !large.isResizing());
+
+        while (large.isResizing()) {
+            large.get(1);
+        }
+
+        assertEquals(key - 1, large.size());
+        assertNull(large.get(0));
+        assertEquals(-1, large.get(1));
+        for (int i = 2; i < key; i++) {
+            assertEquals(i, large.get(i));
+        }
+    }
+
+    @Test
+    void testFootprint() {
+        HashMap<Integer, Integer> sized = new HashMap<>(16);
+        for (int i = 0; i < 8; i++) {
+            sized.put(i * 16, i);
+        }
+
+        Footprint footprint = sized.footprint();
+        assertEquals(16, footprint.getCapacity());
+        assertEquals(8, footprint.getSize());
+        assertEquals(8, footprint.getEmptySlots());
+        assertEquals(0.5, footprint.getLoadFactor());
+        assertTrue(footprint.getLongestProbe() >= 1);
+        assertTrue(footprint.getRetainedBytes() >= footprint.getShallowBytes() + 2 * (16 + 16 * 4));
+    }
+
+    @Test
+    void testForEach() {
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+        }
+
+        int[] sum = new int[1];
+        List<String> keys = new ArrayList<>();
+        map.forEach((key, value) -> {
+            assertEquals("key" + value, key);
+            keys.add(key);
+            sum[0] += value;
+        });
+        assertEquals(100, keys.size());
+        assertEquals(4950, sum[0]);
+    }
+
+    @Test
+    void testViews() {
+        HashMap<String, Integer> hashMap = new HashMap<>();
+        for (int i = 0; i < 1600; i++) {
+            hashMap.put("key" + i, i);
+        }
+        assertTrue(hashMap.isResizing());
+
+        int count = 0;
+        for (String key : hashMap.keys()) {
+            assertTrue(key.startsWith("key"));
+            count++;
+        }
+        assertEquals(1600, count);
+        assertFalse(hashMap.isResizing());
+
+        int sum = 0;
+        for (int value : hashMap.values()) {
+            sum += value;
+        }
+        assertEquals(1599 * 1600 / 2, sum);
+
+        Entry<String, Integer> previous = null;
+        for (Entry<String, Integer> entry : hashMap.entries()) {
+            assertEquals("key" + entry.getValue(), entry.getKey());
+            if (previous != null) {
+                assertSame(previous, entry);
+            }
+            previous = entry;
+            entry.setValue(-entry.getValue());
+        }
+        assertEquals(-5, hashMap.get("key5"));
+
+        Iterator<String> iterator = hashMap.keys().iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+    }
+
+    @Test
+    void testCursor() {
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+        }
+
+        MapCursor<String, Integer> cursor = ((HashMap<String, Integer>) map).cursor();
+        assertThrows(IllegalStateException.class, cursor::key);
+
+        int count = 0;
+        while (cursor.advance()) {
+            assertEquals("key" + cursor.value(), cursor.key());
+            count++;
+        }
+        assertEquals(100, count);
+        assertFalse(cursor.advance());
+        assertThrows(IllegalStateException.class, cursor::value);
+    }
+
+    @Test
+    void testCompute() {
+        assertEquals(1, map.computeIfAbsent("one", key -> 1));
+        assertEquals(1, map.computeIfAbsent("one", key -> 2));
+        assertNull(map.computeIfAbsent("two", key -> null));
+        assertFalse(map.containsKey("two"));
+
+        assertNull(map.computeIfPresent("two", (key, value) -> 2));
+        assertEquals(11, map.computeIfPresent("one", (key, value) -> value + 10));
+        assertNull(map.computeIfPresent("one", (key, value) -> null));
+        assertFalse(map.containsKey("one"));
+
+        assertEquals(3, map.compute("three", (key, value) -> value == null ? 3 : value + 1));
+        assertEquals(4, map.compute("three", (key, value) -> value == null ? 3 : value + 1));
+        assertNull(map.compute("three", (key, value) -> null));
+        assertTrue(map.isEmpty());
+
+        map.put("null", null);
+        assertNull(map.getOrDefault("null", -1));
+        assertEquals(-1, map.getOrDefault("missing", -1));
+        assertEquals(7, map.computeIfAbsent("null", key -> 7));
+    }
+
+    @Test
+    void testMergeCounters() {
+        for (int i = 0; i < 3000; i++) {
+            map.merge("key" + i % 1500, 1, Integer::sum);
+        }
+        assertEquals(1500, map.size());
+        for (int i = 0; i < 1500; i++) {
+            assertEquals(2, map.get("key" + i));
+        }
+
+        assertNull(map.merge("key0", 1, (a, b) -> null));
+        assertFalse(map.containsKey("key0"));
+        assertThrows(NullPointerException.class, () -> map.merge("key1", null, Integer::sum));
+    }
+
+    @Test
+    void testComputeDetectsModification() {
+        map.put("one", 1);
+        assertThrows(ConcurrentModificationException.class,
+                     () -> map.computeIfAbsent("two", key -> map.put("three", 3)));
+        assertThrows(ConcurrentModificationException.class,
+                     () -> map.compute("one", (key, value) -> map.remove("one")));
+    }
+
+    @Test
+    void testComputeDuringResize() {
+        HashMap<String, Integer> hashMap = new HashMap<>();
+        for (int i = 0; i < 1540; i++) {
+            hashMap.put("key" + i, i);
+        }
+        assertTrue(hashMap.isResizing());
+
+        for (int i = 0; i < 1540; i++) {
+            String key = "key" + i;
+            assertEquals(i + 1, hashMap.compute(key, (k, value) -> {
+                hashMap.get("key0");
+                return value + 1;
+            }));
+        }
+        for (int i = 0; i < 1540; i++) {
+            assertEquals(i + 1, hashMap.get("key" + i));
+        }
+        assertEquals(1540, hashMap.size());
+    }
+
+    @Test
+    void testBulkOperations() {
+        String[] keys = new String[200];
+        Integer[] values = new Integer[200];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "key" + i;
+            values[i] = i;
+        }
+
+        map.putAll(keys, values);
+        assertEquals(200, map.size());
+        assertFalse(((HashMap<String, Integer>) map).isResizing());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, map.get(keys[i]));
+        }
+        assertThrows(IllegalArgumentException.class, () -> map.putAll(keys, new Integer[1]));
+
+        Map<String, Integer> copy = new HashMap<>();
+        copy.putAll(map);
+        assertEquals(200, copy.size());
+        assertEquals(199, copy.get("key199"));
+
+        List<String> found = new ArrayList<>();
+        map.getAll(List.of("key1", "missing", "key150"), (key, value) -> {
+            assertEquals("key" + value, key);
+            found.add(key);
+        });
+        assertEquals(List.of("key1", "key150"), found);
+
+        List<String> toRemove = new ArrayList<>();
+        for (int i = 0; i < keys.length; i += 2) {
+            toRemove.add(keys[i]);
+        }
+        toRemove.add("missing");
+        assertEquals(100, map.removeAll(toRemove));
+        assertEquals(100, map.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i % 2 != 0, map.containsKey(keys[i]));
+        }
+    }
+
+    @Test
+    void testEnsureCapacity() {
+        HashMap<String, Integer> sized = new HashMap<>();
+        sized.put("one", 1);
+        sized.ensureCapacity(1000);
+        int capacity = sized.capacity();
+        assertTrue(capacity >= 1000);
+
+        for (int i = 0; i < 1000; i++) {
+            sized.put("key" + i, i);
+        }
+        assertEquals(capacity, sized.capacity());
+        assertEquals(1, sized.get("one"));
+        assertEquals(1001, sized.size());
+    }
+
+    @Test
+    void testFloodResistance() {
+        String[] colliding = collidingStrings(12);
+        for (String key : colliding) {
+            assertEquals(colliding[0].hashCode(), key.hashCode());
+        }
+
+        HashMap<String, Integer> plain = new HashMap<>(16);
+        HashMap<String, Integer> resistant = new HashMap<>(16, true);
+        assertFalse(plain.isFloodResistant());
+        assertTrue(resistant.isFloodResistant());
+
+        for (int i = 0; i < colliding.length; i++) {
+            assertNull(plain.put(colliding[i], i));
+            assertNull(resistant.put(colliding[i], i));
+        }
+
+        assertEquals(colliding.length, resistant.size());
+        assertEquals(colliding.length, plain.footprint().getLongestProbe());
+        assertTrue(resistant.footprint().getLongestProbe() < 64);
+        for (int i = 0; i < colliding.length; i++) {
+            assertEquals(i, plain.get(colliding[i]));
+            assertEquals(i, resistant.get(colliding[i]));
+        }
+
+        for (int i = 0; i < colliding.length; i += 2) {
+            assertEquals(i, resistant.remove(colliding[i]));
+        }
+        for (int i = 0; i < colliding.length; i++) {
+            assertEquals(i % 2 != 0, resistant.containsKey(colliding[i]));
+        }
+    }
+
+    /**
+     * Builds 2^n distinct strings with identical hash codes out of the
+     * colliding blocks "Aa" and "BB".
+     */
+    private static String[] collidingStrings(final int n) {
+        String[] strings = new String[1 << n];
+        for (int i = 0; i < strings.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int bit = 0; bit < n; bit++) {
+                sb.append((i >>> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            strings[i] = sb.toString();
+        }
+        return strings;
+    }
 }
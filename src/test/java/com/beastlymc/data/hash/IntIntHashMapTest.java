@@ -0,0 +1,71 @@
+package com.beastlymc.data.hash;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIntHashMapTest {
+    private IntIntHashMap map;
+
+    @BeforeEach
+    void setUp() {
+        map = new IntIntHashMap(4, -1);
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testPutAndGet() {
+        assertEquals(-1, map.put(1, 10));
+        assertEquals(-1, map.put(2, 20));
+        assertEquals(10, map.put(1, 11));
+
+        assertEquals(11, map.get(1));
+        assertEquals(20, map.get(2));
+        assertEquals(-1, map.get(3));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testFreeKey() {
+        assertFalse(map.containsKey(0));
+        assertEquals(-1, map.get(0));
+
+        assertEquals(-1, map.put(0, -1));
+        assertTrue(map.containsKey(0));
+        assertEquals(-1, map.get(0));
+        assertEquals(1, map.size());
+
+        assertEquals(-1, map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testRemoveAndGrowth() {
+        for (int i = -5_000; i < 5_000; i++) {
+            map.put(i, i * 3);
+        }
+        assertEquals(10_000, map.size());
+
+        for (int i = -5_000; i < 5_000; i += 2) {
+            assertEquals(i * 3, map.remove(i));
+        }
+        assertEquals(5_000, map.size());
+
+        for (int i = -5_000; i < 5_000; i++) {
+            assertEquals(i % 2 != 0, map.containsKey(i));
+        }
+    }
+
+    @Test
+    void testClear() {
+        map.put(0, 1);
+        map.put(7, 2);
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(0));
+        assertFalse(map.containsKey(7));
+        assertEquals("{}", map.toString());
+    }
+}
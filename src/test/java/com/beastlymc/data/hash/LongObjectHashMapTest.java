@@ -0,0 +1,54 @@
+package com.beastlymc.data.hash;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectHashMapTest {
+    private LongObjectHashMap<String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new LongObjectHashMap<>();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testPutAndGet() {
+        assertNull(map.put(1L, "one"));
+        assertNull(map.put(0L, "zero"));
+        assertEquals("one", map.put(1L, "uno"));
+
+        assertEquals("uno", map.get(1L));
+        assertEquals("zero", map.get(0L));
+        assertNull(map.get(2L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testNullValue() {
+        assertNull(map.put(5, null));
+        assertTrue(map.containsKey(5));
+        assertFalse(map.containsKey(6));
+        assertNull(map.remove(5));
+        assertFalse(map.containsKey(5));
+    }
+
+    @Test
+    void testRemoveAndGrowth() {
+        for (int i = 0; i < 10_000; i++) {
+            map.put((long) i << 36, Integer.toString(i));
+        }
+        assertEquals(10_000, map.size());
+
+        for (int i = 0; i < 10_000; i += 2) {
+            assertEquals(Integer.toString(i), map.remove((long) i << 36));
+        }
+        assertEquals(5_000, map.size());
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i % 2 != 0 ? Integer.toString(i) : null, map.get((long) i << 36));
+        }
+    }
+}
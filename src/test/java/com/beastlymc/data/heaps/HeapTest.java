@@ -91,4 +91,17 @@ class HeapTest {
         assertEquals(44, heap.delete());
         assertEquals(42, heap.getParent(0));
     }
+
+    @Test
+    void stream() {
+        heap = new MinHeap<>(100);
+        for (int i = 100; i > 0; i--) {
+            heap.insert(i);
+        }
+        heap.delete();
+
+        assertEquals(99, heap.spliterator().estimateSize());
+        assertEquals(5049, heap.parallelStream().mapToInt(Integer::intValue).sum());
+        assertEquals(2, heap.stream().min(Integer::compare).orElseThrow());
+    }
 }
@@ -1,9 +1,14 @@
 package com.beastlymc.data.lists;
 
+import com.beastlymc.data.common.ListCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -215,4 +220,146 @@ class LinkedListTest {
         assertThrows(UnsupportedOperationException.class,
                      () -> list.iterator().remove());
     }
+
+    @Test
+    void testSpliterator() {
+        for (int i = 0; i < 5000; i++) {
+            list.add(i);
+        }
+
+        Spliterator<Integer> rest = list.spliterator();
+        Spliterator<Integer> batch = rest.trySplit();
+        assertEquals(1024, batch.estimateSize());
+        assertEquals(3976, rest.estimateSize());
+        assertTrue(rest.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(2048, rest.trySplit().estimateSize());
+
+        assertEquals(12497500L, list.parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(list.stream().collect(Collectors.toList()),
+                     list.parallelStream().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testFailFastIterator() {
+        list.add(1);
+        list.add(2);
+
+        Iterator<Integer> iterator = list.iterator();
+        assertEquals(1, iterator.next());
+        list.add(3);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+
+        Spliterator<Integer> spliterator = list.spliterator();
+        list.removeAt(0);
+        assertThrows(ConcurrentModificationException.class, () -> spliterator.tryAdvance(element -> {
+        }));
+    }
+
+    @Test
+    void testBothEnds() {
+        list.addFirst(2);
+        list.add(3);
+        list.addFirst(1);
+        list.addLast(4);
+        assertEquals("[1, 2, 3, 4]", list.toString());
+
+        assertEquals(Optional.of(4), list.removeLast());
+        assertEquals(Optional.of(1), list.removeFirst());
+        assertEquals(Optional.of(3), list.removeLast());
+        assertEquals(Optional.of(2), list.removeLast());
+        assertEquals(Optional.empty(), list.removeLast());
+        assertEquals(Optional.empty(), list.removeFirst());
+        assertTrue(list.isEmpty());
+
+        list.add(5);
+        assertEquals("[5]", list.toString());
+    }
+
+    @Test
+    void testLookupFromNearerEnd() {
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+
+        assertEquals(8, list.get(8));
+        list.insert(9, 42);
+        assertEquals(42, list.get(9));
+        assertEquals(9, list.get(10));
+        assertEquals(Optional.of(42), list.removeAt(9));
+        assertEquals(Optional.of(9), list.removeAt(9));
+        assertEquals(Optional.of(8), list.remove(8));
+        assertEquals("[0, 1, 2, 3, 4, 5, 6, 7]", list.toString());
+        assertEquals(Optional.of(7), list.removeLast());
+    }
+
+    @Test
+    void testClearLargeList() {
+        for (int i = 0; i < 100_000; i++) {
+            list.add(i);
+        }
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertFalse(list.iterator().hasNext());
+
+        list.add(1);
+        assertEquals(Optional.of(1), list.removeLast());
+    }
+
+    @Test
+    void testCursor() {
+        for (int i = 1; i <= 5; i++) {
+            list.add(i);
+        }
+
+        ListCursor<Integer> cursor = list.cursor();
+        assertThrows(IllegalStateException.class, cursor::get);
+        while (cursor.advance()) {
+            int element = cursor.get();
+            if (element == 1) {
+                cursor.addBefore(0);
+            } else if (element == 2) {
+                assertEquals(2, cursor.remove());
+                assertThrows(IllegalStateException.class, cursor::get);
+            } else if (element == 3) {
+                cursor.set(30);
+                cursor.addAfter(35);
+            } else if (element == 5) {
+                cursor.remove();
+            }
+        }
+        assertEquals("[0, 1, 30, 35, 4]", list.toString());
+        assertEquals(5, list.size());
+
+        assertTrue(cursor.retreat());
+        assertEquals(4, cursor.get());
+        assertTrue(cursor.retreat());
+        assertEquals(35, cursor.remove());
+        assertTrue(cursor.retreat());
+        assertEquals(30, cursor.get());
+        assertTrue(cursor.advance());
+        assertEquals(4, cursor.get());
+        assertEquals(4, cursor.remove());
+        assertFalse(cursor.advance());
+        assertEquals(Optional.of(30), list.removeLast());
+
+        list.add(7);
+        assertThrows(ConcurrentModificationException.class, cursor::retreat);
+    }
+
+    @Test
+    void testRemoveIf() {
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+
+        assertEquals(5, list.removeIf(element -> element % 2 == 0));
+        assertEquals("[1, 3, 5, 7, 9]", list.toString());
+        assertEquals(Optional.of(9), list.removeLast());
+        assertEquals(0, list.removeIf(element -> element > 100));
+        assertEquals(4, list.removeIf(element -> true));
+        assertTrue(list.isEmpty());
+        list.add(1);
+        assertEquals("[1]", list.toString());
+    }
 }
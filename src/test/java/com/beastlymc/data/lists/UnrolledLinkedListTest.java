@@ -0,0 +1,129 @@
+package com.beastlymc.data.lists;
+
+import com.beastlymc.data.common.Footprint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnrolledLinkedListTest {
+
+    private UnrolledLinkedList<Integer> list;
+
+    @BeforeEach
+    void setUp() {
+        list = new UnrolledLinkedList<>();
+    }
+
+    @Test
+    void testAppendAndGet() {
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+
+        assertEquals(1000, list.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, list.get(i));
+        }
+        assertEquals(999, list.indexOf(999));
+        assertFalse(list.contains(1000));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1000));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.insert(1001, 0));
+
+        List<Integer> elements = new ArrayList<>();
+        list.forEach(elements::add);
+        assertEquals(1000, elements.size());
+        assertEquals(499500, list.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void testRandomOperations() {
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(7);
+
+        for (int step = 0; step < 20_000; step++) {
+            int operation = random.nextInt(10);
+            if (operation < 5 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, step);
+                list.insert(index, step);
+            } else if (operation < 9) {
+                int index = random.nextInt(expected.size());
+                assertEquals(Optional.of(expected.remove(index)), list.removeAt(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, -step), list.set(index, -step));
+            }
+        }
+
+        assertEquals(expected.size(), list.size());
+        Iterator<Integer> iterator = list.iterator();
+        for (Integer element : expected) {
+            assertEquals(element, iterator.next());
+        }
+        assertFalse(iterator.hasNext());
+        for (int i = 0; i < expected.size(); i += 97) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    @Test
+    void testRemove() {
+        for (int i = 0; i < 200; i++) {
+            list.add(i % 50);
+        }
+
+        assertEquals(Optional.of(10), list.remove(10));
+        assertEquals(59, list.indexOf(10));
+        assertEquals(Optional.empty(), list.remove(500));
+        while (!list.isEmpty()) {
+            list.removeAt(list.size() - 1);
+        }
+        assertEquals("[]", list.toString());
+        assertEquals(0, list.footprint().getCapacity());
+
+        list.add(null);
+        assertTrue(list.contains(null));
+        assertEquals("[null]", list.toString());
+    }
+
+    @Test
+    void testFootprint() {
+        for (int i = 0; i < 640; i++) {
+            list.add(i);
+        }
+
+        Footprint footprint = list.footprint();
+        assertEquals(640, footprint.getCapacity());
+        assertEquals(0, footprint.getEmptySlots());
+
+        LinkedList<Integer> linked = new LinkedList<>();
+        for (int i = 0; i < 640; i++) {
+            linked.add(i);
+        }
+        assertTrue(footprint.getRetainedBytes() < linked.footprint().getRetainedBytes());
+
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.footprint().getCapacity());
+    }
+
+    @Test
+    void testFailFastIterator() {
+        list.add(1);
+        list.add(2);
+
+        Iterator<Integer> iterator = list.iterator();
+        assertEquals(1, iterator.next());
+        list.insert(0, 0);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        assertThrows(ConcurrentModificationException.class, () -> list.forEach(element -> list.add(element)));
+    }
+}
@@ -0,0 +1,132 @@
+package com.beastlymc.data.queues;
+
+import com.beastlymc.data.common.Footprint;
+import com.beastlymc.data.common.Pushable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of {@link ConcurrentQueue} and
+ * {@link MpmcArrayQueue} with a {@link Queue} behind a single lock. Every
+ * thread pushes an element and pops one, so all threads act as both producers
+ * and consumers.
+ * <p>
+ * Run with {@code java -cp <test classpath> com.beastlymc.data.queues.ConcurrentQueueBenchmark [threads...]}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentQueueBenchmark {
+
+    private static final int PREFILLED = 1 << 10;
+
+    private static final Integer ELEMENT = 42;
+
+    @Param({"concurrent", "mpmc", "synchronized"})
+    public String implementation;
+
+    private Pushable<Integer> queue;
+
+    @Setup
+    public void setUp() {
+        queue = switch (implementation) {
+            case "concurrent" -> new ConcurrentQueue<>();
+            case "mpmc" -> new MpmcArrayQueue<>(PREFILLED << 2);
+            default -> new SynchronizedQueue<>(new Queue<>());
+        };
+
+        for (int i = 0; i < PREFILLED; i++) {
+            queue.push(i);
+        }
+    }
+
+    @Benchmark
+    public Optional<Integer> pushPop() {
+        queue.push(ELEMENT);
+        return queue.pop();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        int[] threadCounts = args.length == 0
+                             ? new int[]{1, 4, 16, 64}
+                             : java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        for (int threads : threadCounts) {
+            new Runner(new OptionsBuilder()
+                               .include(ConcurrentQueueBenchmark.class.getSimpleName())
+                               .threads(threads)
+                               .build()).run();
+        }
+    }
+
+    /**
+     * Serializes every call on a single monitor, the way callers guarded the
+     * queue before {@link ConcurrentQueue} existed.
+     */
+    private static final class SynchronizedQueue<E> implements Pushable<E> {
+        private final Pushable<E> queue;
+
+        SynchronizedQueue(final Pushable<E> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public synchronized void push(final E element) {
+            queue.push(element);
+        }
+
+        @Override
+        public synchronized Optional<E> pop() {
+            return queue.pop();
+        }
+
+        @Override
+        public synchronized Optional<E> peek() {
+            return queue.peek();
+        }
+
+        @Override
+        public synchronized int size() {
+            return queue.size();
+        }
+
+        @Override
+        public synchronized void clear() {
+            queue.clear();
+        }
+
+        @Override
+        public synchronized boolean contains(final E element) {
+            return queue.contains(element);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return queue.iterator();
+        }
+
+        @Override
+        public synchronized Footprint footprint() {
+            return queue.footprint();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.beastlymc.data.queues;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentQueueTest {
+
+    private ConcurrentQueue<String> queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new ConcurrentQueue<>();
+    }
+
+    @Test
+    void testPushAndPop() {
+        assertTrue(queue.isEmpty());
+        assertEquals(Optional.empty(), queue.pop());
+        assertEquals(Optional.empty(), queue.peek());
+
+        queue.push("hello");
+        queue.push("world");
+
+        assertEquals(2, queue.size());
+        assertFalse(queue.isEmpty());
+        assertEquals("hello", queue.peek().orElse(null));
+        assertTrue(queue.contains("world"));
+        assertEquals("[hello, world]", queue.toString());
+
+        assertEquals("hello", queue.pop().orElse(null));
+        assertFalse(queue.contains("hello"));
+        assertEquals("world", queue.pop().orElse(null));
+        assertEquals(Optional.empty(), queue.pop());
+        assertTrue(queue.isEmpty());
+        assertThrows(NullPointerException.class, () -> queue.push(null));
+    }
+
+    @Test
+    void testIteratorSurvivesPops() {
+        for (int i = 0; i < 5; i++) {
+            queue.push(String.valueOf(i));
+        }
+
+        Iterator<String> iterator = queue.iterator();
+        assertEquals("0", iterator.next());
+        queue.pop();
+        queue.pop();
+        queue.pop();
+
+        assertEquals("1", iterator.next());
+        assertEquals("3", iterator.next());
+        assertEquals("4", iterator.next());
+        assertFalse(iterator.hasNext());
+
+        queue.clear();
+        assertEquals(0, queue.size());
+        assertEquals(0, queue.stream().count());
+    }
+
+    @Test
+    void testConcurrentProducersAndConsumers() throws InterruptedException {
+        ConcurrentQueue<Integer> shared = new ConcurrentQueue<>();
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong consumed = new AtomicLong();
+        AtomicLong sum = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < producers; t++) {
+            int offset = t * perProducer;
+            workers.add(new Thread(() -> {
+                await(start);
+                for (int i = offset; i < offset + perProducer; i++) {
+                    shared.push(i);
+                }
+            }));
+        }
+        for (int t = 0; t < consumers; t++) {
+            workers.add(new Thread(() -> {
+                await(start);
+                while (consumed.get() < (long) producers * perProducer) {
+                    shared.pop().ifPresent(element -> {
+                        sum.addAndGet(element);
+                        consumed.incrementAndGet();
+                    });
+                }
+            }));
+        }
+
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long total = (long) producers * perProducer;
+        assertEquals(total, consumed.get());
+        assertEquals(total * (total - 1) / 2, sum.get());
+        assertTrue(shared.isEmpty());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.beastlymc.data.queues;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpmcArrayQueueTest {
+
+    private MpmcArrayQueue<String> queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new MpmcArrayQueue<>(4);
+    }
+
+    @Test
+    void testOfferAndPollAcrossLaps() {
+        for (int lap = 0; lap < 3; lap++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(queue.offer(lap + ":" + i));
+            }
+            assertFalse(queue.offer("full"));
+            assertEquals(4, queue.size());
+            assertEquals(lap + ":0", queue.peek().orElse(null));
+
+            for (int i = 0; i < 4; i++) {
+                assertEquals(lap + ":" + i, queue.poll());
+            }
+            assertNull(queue.poll());
+        }
+        assertThrows(NullPointerException.class, () -> queue.push(null));
+    }
+
+    @Test
+    void testDrainFillAndIterator() {
+        assertEquals(4, queue.fill(() -> "e", 6));
+        assertEquals("e", queue.pop().orElse(null));
+
+        Iterator<String> iterator = queue.iterator();
+        assertEquals("e", iterator.next());
+        queue.poll();
+        assertEquals("e", iterator.next());
+        assertEquals("e", iterator.next());
+        assertFalse(iterator.hasNext());
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(1, queue.drain(drained::add, 1));
+        assertEquals(1, queue.size());
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.stream().count());
+    }
+
+    @Test
+    void testFillRejectsNull() {
+        assertThrows(NullPointerException.class, () -> queue.fill(() -> null, 2));
+        String[] elements = {"a", null};
+        int[] next = {0};
+        assertThrows(NullPointerException.class, () -> queue.fill(() -> elements[next[0]++], 2));
+        assertThrows(IllegalArgumentException.class, () -> queue.fill(() -> {
+            throw new IllegalArgumentException();
+        }, 1));
+
+        assertEquals("a", queue.peek().orElse(null));
+        assertEquals("[a]", queue.toString());
+        List<String> drained = new ArrayList<>();
+        assertEquals(1, queue.drain(drained::add, 4));
+        assertEquals(List.of("a"), drained);
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(String.valueOf(i)));
+        }
+        assertFalse(queue.offer("4"));
+        assertEquals("0", queue.poll());
+    }
+
+    @Test
+    void testConcurrentProducersAndConsumers() throws InterruptedException {
+        MpmcArrayQueue<Integer> shared = new MpmcArrayQueue<>(64);
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 20_000;
+        long total = (long) producers * perProducer;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong consumed = new AtomicLong();
+        AtomicLong sum = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < producers; t++) {
+            int offset = t * perProducer;
+            workers.add(new Thread(() -> {
+                await(start);
+                for (int i = offset; i < offset + perProducer; i++) {
+                    while (!shared.offer(i)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        for (int t = 0; t < consumers; t++) {
+            workers.add(new Thread(() -> {
+                await(start);
+                while (consumed.get() < total) {
+                    int drained = shared.drain(element -> sum.addAndGet(element), 16);
+                    consumed.addAndGet(drained);
+                }
+            }));
+        }
+
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(total, consumed.get());
+        assertEquals(total * (total - 1) / 2, sum.get());
+        assertTrue(shared.isEmpty());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
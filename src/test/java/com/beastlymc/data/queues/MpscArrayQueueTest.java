@@ -0,0 +1,132 @@
+package com.beastlymc.data.queues;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscArrayQueueTest {
+
+    private MpscArrayQueue<String> queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new MpscArrayQueue<>(4);
+    }
+
+    @Test
+    void testOfferAndPoll() {
+        assertNull(queue.poll());
+        assertEquals(Optional.empty(), queue.pop());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(String.valueOf(i)));
+        }
+        assertFalse(queue.offer("4"));
+        assertThrows(IllegalStateException.class, () -> queue.push("4"));
+        assertEquals(4, queue.size());
+        assertEquals("0", queue.peek().orElse(null));
+
+        assertEquals("0", queue.poll());
+        assertTrue(queue.offer("4"));
+        assertEquals("[1, 2, 3, 4]", queue.toString());
+        assertEquals(4, queue.footprint().getCapacity());
+    }
+
+    @Test
+    void testDrainAndFill() {
+        assertEquals(2, queue.fill(() -> "x", 2));
+        assertEquals(2, queue.fill(() -> "y", 5));
+        assertEquals(0, queue.fill(() -> "z", 5));
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(4, queue.drain(drained::add, 5));
+        assertEquals(List.of("x", "x", "y", "y"), drained);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testFillRejectsNull() {
+        String[] elements = {"a", null, "c"};
+        int[] next = {0};
+        assertThrows(NullPointerException.class, () -> queue.fill(() -> elements[next[0]++], 3));
+        assertThrows(IllegalArgumentException.class, () -> queue.fill(() -> {
+            throw new IllegalArgumentException();
+        }, 1));
+
+        assertEquals("[a]", queue.toString());
+        assertEquals("a", queue.peek().orElse(null));
+        assertEquals("a", queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(String.valueOf(i)));
+        }
+        assertEquals("0", queue.poll());
+    }
+
+    @Test
+    void testConcurrentProducers() throws InterruptedException {
+        MpscArrayQueue<Integer> shared = new MpscArrayQueue<>(128);
+        int producers = 4;
+        int perProducer = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < producers; t++) {
+            int offset = t * perProducer;
+            workers.add(new Thread(() -> {
+                await(start);
+                for (int i = offset; i < offset + perProducer; i++) {
+                    while (!shared.offer(i)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        start.countDown();
+
+        long total = (long) producers * perProducer;
+        int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        long sum = 0;
+        for (long consumed = 0; consumed < total; ) {
+            Integer element = shared.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            // The elements of a single producer arrive in the order it
+            // offered them.
+            int producer = element / perProducer;
+            assertTrue(element > last[producer]);
+            last[producer] = element;
+            sum += element;
+            consumed++;
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(total * (total - 1) / 2, sum);
+        assertTrue(shared.isEmpty());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.beastlymc.data.queues;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpscArrayQueueTest {
+
+    private SpscArrayQueue<String> queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new SpscArrayQueue<>(3);
+    }
+
+    @Test
+    void testOfferAndPoll() {
+        assertEquals(4, queue.capacity());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertEquals(Optional.empty(), queue.peek());
+
+        assertTrue(queue.offer("a"));
+        assertTrue(queue.offer("b"));
+        queue.push("c");
+        queue.push("d");
+
+        assertEquals(4, queue.size());
+        assertFalse(queue.offer("e"));
+        assertThrows(IllegalStateException.class, () -> queue.push("e"));
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+        assertEquals("a", queue.peek().orElse(null));
+        assertTrue(queue.contains("d"));
+        assertEquals("[a, b, c, d]", queue.toString());
+
+        assertEquals("a", queue.poll());
+        assertEquals("b", queue.pop().orElse(null));
+        assertTrue(queue.offer("e"));
+        assertTrue(queue.offer("f"));
+        assertEquals("[c, d, e, f]", queue.toString());
+
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void testDrainAndFill() {
+        int[] next = {0};
+        assertEquals(3, queue.fill(() -> String.valueOf(next[0]++), 3));
+        assertEquals(1, queue.fill(() -> String.valueOf(next[0]++), 10));
+        assertEquals(0, queue.fill(() -> String.valueOf(next[0]++), 10));
+        assertEquals(4, next[0]);
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, queue.drain(drained::add, 2));
+        assertEquals(List.of("0", "1"), drained);
+        assertEquals(2, queue.drain(drained::add, 10));
+        assertEquals(List.of("0", "1", "2", "3"), drained);
+        assertEquals(0, queue.drain(drained::add, 10));
+    }
+
+    @Test
+    void testFillRejectsNull() {
+        String[] elements = {"a", null, "c"};
+        int[] next = {0};
+        assertThrows(NullPointerException.class, () -> queue.fill(() -> elements[next[0]++], 3));
+
+        assertEquals(1, queue.size());
+        assertEquals("a", queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.offer("d"));
+        assertEquals("d", queue.poll());
+    }
+
+    @Test
+    void testIllegalCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SpscArrayQueue<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new SpscArrayQueue<>((1 << 30) + 1));
+        assertEquals(1, new SpscArrayQueue<>(1).capacity());
+        assertEquals(1024, new SpscArrayQueue<>(1024).capacity());
+    }
+
+    @Test
+    void testProducerAndConsumerThreads() throws InterruptedException {
+        SpscArrayQueue<Integer> shared = new SpscArrayQueue<>(64);
+        int count = 100_000;
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!shared.offer(i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+
+        for (int i = 0; i < count; i++) {
+            Integer element;
+            while ((element = shared.poll()) == null) {
+                Thread.yield();
+            }
+            assertEquals(i, element);
+        }
+        producer.join();
+        assertTrue(shared.isEmpty());
+    }
+}